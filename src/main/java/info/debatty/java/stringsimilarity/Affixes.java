@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+/**
+ * Common prefix and suffix of two strings.
+ *
+ * For Levenshtein, LCS, Damerau-Levenshtein and Optimal String Alignment,
+ * there is always an optimal alignment that matches the characters of the
+ * common prefix and suffix with each other: a transposition or substitution
+ * involving a character of the prefix can always be replaced by a match
+ * followed by edits of the same total cost. Hence the dynamic programming
+ * only has to be computed for the differing middle parts.
+ *
+ * @author Thibault Debatty
+ */
+final class Affixes {
+
+    private Affixes() {
+    }
+
+    /**
+     * Length of the common prefix of s1 and s2.
+     * @param s1
+     * @param s2
+     * @return the length of the common prefix
+     */
+    static int prefix(final String s1, final String s2) {
+        int max = Math.min(s1.length(), s2.length());
+        int i = 0;
+        while (i < max && s1.charAt(i) == s2.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Length of the common suffix of s1 and s2, not overlapping with the
+     * first prefix characters.
+     * @param s1
+     * @param s2
+     * @param prefix length of the common prefix
+     * @return the length of the common suffix
+     */
+    static int suffix(final String s1, final String s2, final int prefix) {
+        int i1 = s1.length();
+        int i2 = s2.length();
+        int max = Math.min(i1, i2) - prefix;
+        int i = 0;
+        while (i < max && s1.charAt(i1 - 1 - i) == s2.charAt(i2 - 1 - i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.Collections;
+import java.util.List;
+import net.jcip.annotations.Immutable;
+
+/**
+ * An optimal alignment of two strings: the sequence of edit operations that
+ * transforms s1 into s2, grouped in runs of identical operations, together
+ * with its total cost.
+ *
+ * <pre>
+ * Alignment alignment = new Levenshtein().align("kitten", "sitting");
+ * for (EditOperation operation : alignment.getOperations()) {
+ *     System.out.println(operation);
+ * }
+ * </pre>
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public final class Alignment {
+
+    private final List<EditOperation> operations;
+    private final double cost;
+
+    Alignment(final List<EditOperation> operations, final double cost) {
+        this.operations = Collections.unmodifiableList(operations);
+        this.cost = cost;
+    }
+
+    /**
+     * Runs of edit operations, in the order of the strings.
+     * @return the (unmodifiable) list of edit operations
+     */
+    public List<EditOperation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Total cost of the edit operations, which is the distance between the
+     * strings.
+     * @return the cost of the alignment
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    @Override
+    public String toString() {
+        return "Alignment{cost=" + cost + ", operations=" + operations + "}";
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+/**
+ * Bit-parallel implementations of the dynamic programming algorithms.
+ *
+ * The pattern (one of the strings) is encoded as a set of bit masks (see
+ * {@link PatternMasks}), and each column of the dynamic programming matrix is
+ * represented by bit vectors of vertical deltas. A column is thus computed
+ * with a constant number of operations per 64-bit word, instead of one
+ * operation per cell.
+ *
+ * Levenshtein: G. Myers, "A fast bit-vector algorithm for approximate string
+ * matching based on dynamic programming", Journal of the ACM, 1999, with the
+ * formulation of H. Hyyrö, "A bit-vector algorithm for computing Levenshtein
+ * and Damerau edit distances", Nordic Journal of Computing, 2003.
+ *
+ * Optimal String Alignment: same paper of H. Hyyrö. A transposition is
+ * detected in the previous column of vertical deltas, and added to the
+ * diagonal deltas of the current column.
+ *
+ * Longest Common Subsequence: L. Allison and T. Dix, "A bit-string
+ * longest-common-subsequence algorithm", Information Processing Letters,
+ * 1986, with the simplification of H. Hyyrö, "Bit-parallel LCS-length
+ * computation revisited", 2004.
+ *
+ * @author Thibault Debatty
+ */
+final class BitParallel {
+
+    private BitParallel() {
+    }
+
+    /**
+     * Levenshtein distance between the pattern and text[from .. to[.
+     * @param peq masks of the pattern (must not be empty)
+     * @param text
+     * @param from index of the first character of text (inclusive)
+     * @param to index of the last character of text (exclusive)
+     * @param limit the computation stops as soon as it is known that the
+     *              distance is at least limit, and limit is returned
+     * @param vp scratch buffer of at least peq.words() elements
+     * @param vn scratch buffer of at least peq.words() elements
+     * @return min(distance, limit)
+     */
+    static int levenshtein(
+            final PatternMasks peq,
+            final String text, final int from, final int to,
+            final int limit, final long[] vp, final long[] vn) {
+
+        if (peq.words() == 1) {
+            return levenshtein64(peq, text, from, to, limit);
+        }
+        return levenshteinBlocks(peq, text, from, to, limit, vp, vn);
+    }
+
+    /**
+     * Single word version, for patterns of at most 64 characters.
+     */
+    private static int levenshtein64(
+            final PatternMasks peq,
+            final String text, final int from, final int to,
+            final int limit) {
+
+        final long[] masks = peq.masks();
+        final long last = 1L << (peq.length() - 1);
+
+        long vp = ~0L;
+        long vn = 0L;
+        int score = peq.length();
+
+        for (int j = from; j < to; j++) {
+            int offset = peq.offset(text.charAt(j));
+            long eq = 0L;
+            if (offset >= 0) {
+                eq = masks[offset];
+            }
+
+            long d0 = (((eq & vp) + vp) ^ vp) | eq | vn;
+            long hp = vn | ~(d0 | vp);
+            long hn = d0 & vp;
+
+            if ((hp & last) != 0) {
+                score++;
+            } else if ((hn & last) != 0) {
+                score--;
+            }
+
+            // each remaining column can decrease the score by at most one
+            if (score - (to - j - 1) >= limit) {
+                return limit;
+            }
+
+            hp = (hp << 1) | 1L;
+            hn = hn << 1;
+            vp = hn | ~(d0 | hp);
+            vn = hp & d0;
+        }
+
+        return Math.min(score, limit);
+    }
+
+    /**
+     * Blocked version, for patterns longer than 64 characters. The carries
+     * of horizontal deltas are propagated from one block to the next.
+     */
+    private static int levenshteinBlocks(
+            final PatternMasks peq,
+            final String text, final int from, final int to,
+            final int limit, final long[] vp, final long[] vn) {
+
+        final long[] masks = peq.masks();
+        final int words = peq.words();
+        final long last = 1L << ((peq.length() - 1) % PatternMasks.WORD_SIZE);
+
+        for (int w = 0; w < words; w++) {
+            vp[w] = ~0L;
+            vn[w] = 0L;
+        }
+        int score = peq.length();
+
+        for (int j = from; j < to; j++) {
+            int offset = peq.offset(text.charAt(j));
+            long hp_carry = 1L;
+            long hn_carry = 0L;
+
+            for (int w = 0; w < words; w++) {
+                long eq = 0L;
+                if (offset >= 0) {
+                    eq = masks[offset + w];
+                }
+
+                long x = eq | hn_carry;
+                long d0 = (((x & vp[w]) + vp[w]) ^ vp[w]) | x | vn[w];
+                long hp = vn[w] | ~(d0 | vp[w]);
+                long hn = d0 & vp[w];
+
+                if (w == words - 1) {
+                    if ((hp & last) != 0) {
+                        score++;
+                    } else if ((hn & last) != 0) {
+                        score--;
+                    }
+                }
+
+                long hp_carry_in = hp_carry;
+                long hn_carry_in = hn_carry;
+                hp_carry = hp >>> (PatternMasks.WORD_SIZE - 1);
+                hn_carry = hn >>> (PatternMasks.WORD_SIZE - 1);
+
+                hp = (hp << 1) | hp_carry_in;
+                hn = (hn << 1) | hn_carry_in;
+                vp[w] = hn | ~(d0 | hp);
+                vn[w] = hp & d0;
+            }
+
+            if (score - (to - j - 1) >= limit) {
+                return limit;
+            }
+        }
+
+        return Math.min(score, limit);
+    }
+
+    /**
+     * Optimal String Alignment distance between the pattern and
+     * text[from .. to[.
+     * @param peq masks of the pattern (must not be empty)
+     * @param text
+     * @param from index of the first character of text (inclusive)
+     * @param to index of the last character of text (exclusive)
+     * @param limit the computation stops as soon as it is known that the
+     *              distance is at least limit, and limit is returned
+     * @param vp scratch buffer of at least peq.words() elements
+     * @param vn scratch buffer of at least peq.words() elements
+     * @param d0 scratch buffer of at least peq.words() elements
+     * @return min(distance, limit)
+     */
+    static int osa(
+            final PatternMasks peq,
+            final String text, final int from, final int to,
+            final int limit, final long[] vp, final long[] vn,
+            final long[] d0) {
+
+        if (peq.words() == 1) {
+            return osa64(peq, text, from, to, limit);
+        }
+        return osaBlocks(peq, text, from, to, limit, vp, vn, d0);
+    }
+
+    /**
+     * Single word version, for patterns of at most 64 characters.
+     */
+    private static int osa64(
+            final PatternMasks peq,
+            final String text, final int from, final int to,
+            final int limit) {
+
+        final long[] masks = peq.masks();
+        final long last = 1L << (peq.length() - 1);
+
+        long vp = ~0L;
+        long vn = 0L;
+        long d0 = 0L;
+        long eq_previous = 0L;
+        int score = peq.length();
+
+        for (int j = from; j < to; j++) {
+            int offset = peq.offset(text.charAt(j));
+            long eq = 0L;
+            if (offset >= 0) {
+                eq = masks[offset];
+            }
+
+            // transpositions: pattern[i - 1 .. i] = text[j .. j - 1], where
+            // the diagonal delta of the previous column was not 0
+            long tr = ((~d0 & eq) << 1) & eq_previous;
+
+            d0 = (((eq & vp) + vp) ^ vp) | eq | vn | tr;
+            long hp = vn | ~(d0 | vp);
+            long hn = d0 & vp;
+
+            if ((hp & last) != 0) {
+                score++;
+            } else if ((hn & last) != 0) {
+                score--;
+            }
+
+            // each remaining column can decrease the score by at most one
+            if (score - (to - j - 1) >= limit) {
+                return limit;
+            }
+
+            hp = (hp << 1) | 1L;
+            hn = hn << 1;
+            vp = hn | ~(d0 | hp);
+            vn = hp & d0;
+            eq_previous = eq;
+        }
+
+        return Math.min(score, limit);
+    }
+
+    /**
+     * Blocked version, for patterns longer than 64 characters. Both the
+     * carries of horizontal deltas and of transpositions are propagated
+     * from one block to the next.
+     */
+    private static int osaBlocks(
+            final PatternMasks peq,
+            final String text, final int from, final int to,
+            final int limit, final long[] vp, final long[] vn,
+            final long[] d0) {
+
+        final long[] masks = peq.masks();
+        final int words = peq.words();
+        final long last = 1L << ((peq.length() - 1) % PatternMasks.WORD_SIZE);
+
+        for (int w = 0; w < words; w++) {
+            vp[w] = ~0L;
+            vn[w] = 0L;
+            d0[w] = 0L;
+        }
+        int score = peq.length();
+        int offset_previous = -1;
+
+        for (int j = from; j < to; j++) {
+            int offset = peq.offset(text.charAt(j));
+            long hp_carry = 1L;
+            long hn_carry = 0L;
+
+            // previous diagonal deltas and current matches of the block
+            // below, for the transposition carry
+            long d0_below = 0L;
+            long eq_below = 0L;
+
+            for (int w = 0; w < words; w++) {
+                long eq = 0L;
+                if (offset >= 0) {
+                    eq = masks[offset + w];
+                }
+
+                long eq_previous = 0L;
+                if (offset_previous >= 0) {
+                    eq_previous = masks[offset_previous + w];
+                }
+
+                long tr = (((~d0[w] & eq) << 1)
+                        | ((~d0_below & eq_below)
+                                >>> (PatternMasks.WORD_SIZE - 1)))
+                        & eq_previous;
+                d0_below = d0[w];
+                eq_below = eq;
+
+                long x = eq | hn_carry;
+                long d = (((x & vp[w]) + vp[w]) ^ vp[w]) | x | vn[w] | tr;
+                long hp = vn[w] | ~(d | vp[w]);
+                long hn = d & vp[w];
+
+                if (w == words - 1) {
+                    if ((hp & last) != 0) {
+                        score++;
+                    } else if ((hn & last) != 0) {
+                        score--;
+                    }
+                }
+
+                long hp_carry_in = hp_carry;
+                long hn_carry_in = hn_carry;
+                hp_carry = hp >>> (PatternMasks.WORD_SIZE - 1);
+                hn_carry = hn >>> (PatternMasks.WORD_SIZE - 1);
+
+                hp = (hp << 1) | hp_carry_in;
+                hn = (hn << 1) | hn_carry_in;
+                vp[w] = hn | ~(d | hp);
+                vn[w] = hp & d;
+                d0[w] = d;
+            }
+
+            if (score - (to - j - 1) >= limit) {
+                return limit;
+            }
+            offset_previous = offset;
+        }
+
+        return Math.min(score, limit);
+    }
+
+    /**
+     * Length of the longest common subsequence of the pattern and
+     * text[from .. to[.
+     *
+     * Bit i of v is 0 if the LCS of pattern[0 .. i] and the text increases
+     * at position i, hence the LCS length is the number of zero bits of v.
+     *
+     * @param peq masks of the pattern (must not be empty)
+     * @param text
+     * @param from index of the first character of text (inclusive)
+     * @param to index of the last character of text (exclusive)
+     * @param v scratch buffer of at least peq.words() elements
+     * @return the length of the LCS
+     */
+    static int lcs(
+            final PatternMasks peq,
+            final String text, final int from, final int to,
+            final long[] v) {
+
+        final long[] masks = peq.masks();
+        final int words = peq.words();
+
+        if (words == 1) {
+            long v0 = ~0L;
+            for (int j = from; j < to; j++) {
+                int offset = peq.offset(text.charAt(j));
+                if (offset >= 0) {
+                    long u = v0 & masks[offset];
+                    v0 = (v0 + u) | (v0 - u);
+                }
+            }
+            return Long.bitCount(~v0);
+        }
+
+        for (int w = 0; w < words; w++) {
+            v[w] = ~0L;
+        }
+
+        for (int j = from; j < to; j++) {
+            int offset = peq.offset(text.charAt(j));
+            if (offset < 0) {
+                // no match: v is unchanged
+                continue;
+            }
+
+            // the carry of the addition is propagated from one block to the
+            // next, the subtraction never borrows as u is a subset of v
+            long carry = 0L;
+            for (int w = 0; w < words; w++) {
+                long vw = v[w];
+                long u = vw & masks[offset + w];
+                long sum = vw + u + carry;
+                carry = ((vw & u) | ((vw | u) & ~sum))
+                        >>> (PatternMasks.WORD_SIZE - 1);
+                v[w] = sum | (vw - u);
+            }
+        }
+
+        int length = 0;
+        for (int w = 0; w < words; w++) {
+            length += Long.bitCount(~v[w]);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.Arrays;
+
+/**
+ * Maps the distinct characters of a string to dense indexes 0, 1, 2...
+ * in order of first appearance.
+ *
+ * Characters below 256 are resolved with a direct lookup table, other
+ * characters (CJK etc.) go through a small open-addressing hash table, so
+ * the memory requirement is proportional to the number of distinct
+ * characters and not to the size of the alphabet.
+ *
+ * Instances are mutable and not thread-safe. They are meant to be reused
+ * (see {@link #clear()}) to avoid allocation in the hot loops.
+ *
+ * @author Thibault Debatty
+ */
+final class CharIndex {
+
+    private static final int DIRECT_SIZE = 256;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Index + 1 of characters below DIRECT_SIZE (0 means absent).
+     */
+    private final int[] direct = new int[DIRECT_SIZE];
+
+    /**
+     * Open-addressing table for other characters. A slot is empty if its
+     * value is 0, otherwise value is index + 1.
+     */
+    private char[] keys = new char[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int hashed;
+
+    /**
+     * Characters, in order of insertion.
+     */
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Return the index of c, or -1 if c was never added.
+     * @param c
+     * @return the index of c, or -1
+     */
+    int get(final char c) {
+        if (c < DIRECT_SIZE) {
+            return direct[c] - 1;
+        }
+
+        if (hashed == 0) {
+            return -1;
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(c) & mask;
+        while (values[slot] != 0) {
+            if (keys[slot] == c) {
+                return values[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Return the index of c, assigning the next free index if c was not
+     * seen yet.
+     * @param c
+     * @return the index of c
+     */
+    int add(final char c) {
+        if (c < DIRECT_SIZE) {
+            if (direct[c] == 0) {
+                direct[c] = append(c) + 1;
+            }
+            return direct[c] - 1;
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(c) & mask;
+        while (values[slot] != 0) {
+            if (keys[slot] == c) {
+                return values[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int index = append(c);
+        keys[slot] = c;
+        values[slot] = index + 1;
+        hashed++;
+        if (2 * hashed > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return index;
+    }
+
+    /**
+     * Number of distinct characters.
+     * @return the number of distinct characters
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Character with the given index.
+     * @param index
+     * @return the character
+     */
+    char charAt(final int index) {
+        return chars[index];
+    }
+
+    /**
+     * Remove all characters. The cost is proportional to the number of
+     * characters that were added, not to the capacity.
+     */
+    void clear() {
+        if (hashed > 0) {
+            Arrays.fill(values, 0);
+            hashed = 0;
+        }
+
+        for (int i = 0; i < size; i++) {
+            char c = chars[i];
+            if (c < DIRECT_SIZE) {
+                direct[c] = 0;
+            }
+        }
+        size = 0;
+    }
+
+    private int append(final char c) {
+        if (size == chars.length) {
+            chars = Arrays.copyOf(chars, size * 2);
+        }
+        chars[size] = c;
+        return size++;
+    }
+
+    private void rehash(final int capacity) {
+        char[] old_keys = keys;
+        int[] old_values = values;
+        keys = new char[capacity];
+        values = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < old_keys.length; i++) {
+            if (old_values[i] == 0) {
+                continue;
+            }
+            int slot = hash(old_keys[i]) & mask;
+            while (values[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = old_keys[i];
+            values[slot] = old_values[i];
+        }
+    }
+
+    private static int hash(final char c) {
+        int h = c * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
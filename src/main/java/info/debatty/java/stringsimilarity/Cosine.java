@@ -90,11 +90,7 @@ public class Cosine extends ShingleBased implements
             return 0;
         }
 
-        Map<String, Integer> profile1 = getProfile(s1);
-        Map<String, Integer> profile2 = getProfile(s2);
-
-        return dotProduct(profile1, profile2)
-                / (norm(profile1) * norm(profile2));
+        return similarity(getShingleProfile(s1), getShingleProfile(s2));
     }
 
     /**
@@ -164,4 +160,73 @@ public class Cosine extends ShingleBased implements
                 / (norm(profile1) * norm(profile2));
     }
 
+    /**
+     * Compute the cosine similarity between precomputed profiles (see
+     * {@link #getShingleProfile(String)}).
+     *
+     * @param profile1
+     * @param profile2
+     * @return The cosine similarity in the range [0, 1]
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double similarity(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        checkProfiles(profile1, profile2);
+        return profile1.dotProduct(profile2)
+                / (profile1.getNorm() * profile2.getNorm());
+    }
+
+    /**
+     * Return 1.0 - similarity, using precomputed profiles.
+     *
+     * @param profile1
+     * @param profile2
+     * @return 1.0 - the cosine similarity in the range [0, 1]
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double distance(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        return 1.0 - similarity(profile1, profile2);
+    }
+
+    /**
+     * Compute the cosine similarity between two records of a
+     * {@link ProfileStore}, using their quantized counts.
+     *
+     * @param store
+     * @param record1 index of the first record in store
+     * @param record2 index of the second record in store
+     * @return The cosine similarity in the range [0, 1]
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles of store were
+     * computed with another value of k.
+     * @throws IndexOutOfBoundsException if a record does not exist.
+     */
+    public final double similarity(
+            final ProfileStore store, final int record1, final int record2) {
+        checkStore(store);
+        return Math.min(1.0, store.dotProduct(record1, record2)
+                / (store.getNorm(record1) * store.getNorm(record2)));
+    }
+
+    /**
+     * Return 1.0 - similarity, for two records of a {@link ProfileStore}.
+     *
+     * @param store
+     * @param record1 index of the first record in store
+     * @param record2 index of the second record in store
+     * @return 1.0 - the cosine similarity in the range [0, 1]
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles of store were
+     * computed with another value of k.
+     * @throws IndexOutOfBoundsException if a record does not exist.
+     */
+    public final double distance(
+            final ProfileStore store, final int record1, final int record2) {
+        return 1.0 - similarity(store, record1, record2);
+    }
 }
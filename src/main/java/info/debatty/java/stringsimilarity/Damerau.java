@@ -24,8 +24,6 @@
 package info.debatty.java.stringsimilarity;
 
 import info.debatty.java.stringsimilarity.interfaces.MetricStringDistance;
-import java.util.HashMap;
-
 import net.jcip.annotations.Immutable;
 
 /**
@@ -45,23 +43,55 @@ import net.jcip.annotations.Immutable;
  * 它确实考虑了三角形不等式，因此是公制距离。
  * 请勿将其与最佳字符串对齐距离相混淆，后者是
  * 扩展，其中子字符串不能被多次编辑
+ *
+ * Implementation uses the linear space algorithm of Zhao and Sahni ("String
+ * correction using the Damerau-Levenshtein distance", 2019): it only keeps
+ * two rows of the distance matrix, plus one row that records the distances
+ * required by transpositions. The last occurrence of each character is
+ * stored in an array indexed by character, so that no hash lookup is
+ * required in the inner loop. Hence the algorithm runs in O(n.m) time and
+ * O(m) space.
+ * 实现使用Zhao和Sahni（2019）的线性空间算法：只保存距离矩阵的两行，以及记录换位所需距离的一行。
+ * 每个字符的最后出现位置保存在按字符索引的数组中，因此内层循环不需要哈希查找。
  * @author Thibault Debatty
  */
 @Immutable
 public class Damerau implements MetricStringDistance {
 
+    /**
+     * Equivalent to distance(s1, s2, Integer.MAX_VALUE).
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return The computed distance.
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public final double distance(final String s1, final String s2) {
+        return distance(s1, s2, Integer.MAX_VALUE);
+    }
+
     /**
      * Compute the distance between strings: the minimum number of operations
      * needed to transform one string into the other (insertion, deletion,
      * substitution of a single character, or a transposition of two adjacent
      * characters).
+     *
+     * The computation stops as soon as all the cells of a row of the distance
+     * matrix are at least limit, as the distance cannot be less than limit
+     * anymore.
+     *
      * @param s1 The first string to compare.
      * @param s2 The second string to compare.
-     * @return The computed distance.
+     * @param limit The maximum result to compute before stopping. Set this
+     *              to Integer.MAX_VALUE if you want to run the calculation
+     *              to completion in every case.
+     *              停止前要计算的最大结果。如果要在任何情况下都执行计算以完成操作，请将其设置为Integer.MAX_VALUE
+     * @return The computed distance, or limit if the distance is at least
+     *         limit.
      * @throws NullPointerException if s1 or s2 is null.
      */
-    @Override
-    public final double distance(final String s1, final String s2) {
+    public final double distance(final String s1, final String s2,
+                                 final int limit) {
 
         if (s1 == null) {
             throw new NullPointerException("s1 must not be null");
@@ -75,67 +105,121 @@ public class Damerau implements MetricStringDistance {
             return 0;
         }
 
-        // INFinite distance is the max possible distance
-        int inf = s1.length() + s2.length();
+        // The distance is at least the difference of lengths
+        if (Math.abs(s1.length() - s2.length()) >= limit) {
+            return limit;
+        }
 
-        // Create and initialize the character array indices
-        HashMap<Character, Integer> da = new HashMap<Character, Integer>();
+        // Only the differing middle parts of the strings have to be compared
+        final int prefix = Affixes.prefix(s1, s2);
+        final int suffix = Affixes.suffix(s1, s2, prefix);
+        final int n = s1.length() - prefix - suffix;
+        final int m = s2.length() - prefix - suffix;
 
-        for (int d = 0; d < s1.length(); d++) {
-            da.put(s1.charAt(d), 0);
+        if (n == 0) {
+            return Math.min(m, limit);
         }
 
-        for (int d = 0; d < s2.length(); d++) {
-            da.put(s2.charAt(d), 0);
+        if (m == 0) {
+            return Math.min(n, limit);
         }
 
-        // Create the distance matrix H[0 .. s1.length+1][0 .. s2.length+1]
-        int[][] h = new int[s1.length() + 2][s2.length() + 2];
+        // INFinite distance is the max possible distance
+        final int inf = n + m;
 
-        // initialize the left and top edges of H
-        for (int i = 0; i <= s1.length(); i++) {
-            h[i + 1][0] = inf;
-            h[i + 1][1] = i;
+        Workspace ws = Workspace.get();
+
+        // Index the characters of s1. For each character of s2, column[j]
+        // is the index of s2[j] in s1, or -1 if s2[j] does not appear in s1
+        // (and hence cannot be transposed).
+        CharIndex index = ws.index();
+        for (int i = 0; i < n; i++) {
+            index.add(s1.charAt(prefix + i));
         }
 
-        for (int j = 0; j <= s2.length(); j++) {
-            h[0][j + 1] = inf;
-            h[1][j + 1] = j;
+        int[] column = ws.ints(2, m + 1);
+        for (int j = 1; j <= m; j++) {
+            column[j] = index.get(s2.charAt(prefix + j - 1));
+        }
 
+        // last_row[c]: last row i such that s1[i] = c (0 if none yet)
+        int[] last_row = ws.ints(3, index.size());
+        for (int c = 0; c < index.size(); c++) {
+            last_row[c] = 0;
         }
 
-        // fill in the distance matrix H
-        // look at each character in s1
-        for (int i = 1; i <= s1.length(); i++) {
-            int db = 0;
+        // fr[j] = H[k - 1][j - 2] where k is the last row such that
+        // s1[k] = s2[j]
+        int[] fr = ws.ints(4, m + 1);
 
-            // look at each character in b
-            for (int j = 1; j <= s2.length(); j++) {
-                int i1 = da.get(s2.charAt(j - 1));
-                int j1 = db;
+        // Rows i - 1 and i of H (row i - 2 before it is overwritten)
+        int[] r1 = ws.ints(0, m + 1);
+        int[] r = ws.ints(1, m + 1);
+        int[] rtemp;
 
-                int cost = 1;
-                if (s1.charAt(i - 1) == s2.charAt(j - 1)) {
-                    cost = 0;
-                    db = j;
+        for (int j = 0; j <= m; j++) {
+            fr[j] = inf;
+            r1[j] = inf;
+            r[j] = j;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            rtemp = r1;
+            r1 = r;
+            r = rtemp;
+
+            char c1 = s1.charAt(prefix + i - 1);
+
+            // last column l of the current row such that s1[i] = s2[l]
+            int last_col = 0;
+
+            // H[i - 2][last_col - 1]
+            int t = inf;
+
+            // H[i - 2][j - 1]
+            int diag2 = r[0];
+            r[0] = i;
+            int minr = i;
+
+            for (int j = 1; j <= m; j++) {
+                int h = Math.min(r1[j] + 1, r[j - 1] + 1);
+
+                if (c1 == s2.charAt(prefix + j - 1)) {
+                    h = Math.min(h, r1[j - 1]);
+                    last_col = j;
+                    if (j > 1) {
+                        fr[j] = r1[j - 2];
+                    }
+                    t = diag2;
+
+                } else {
+                    h = Math.min(h, r1[j - 1] + 1);
+
+                    // Only transpositions where the characters are
+                    // adjacent in s1 or in s2 may be optimal
+                    int k = column[j] < 0 ? 0 : last_row[column[j]];
+                    if (k > 0 && last_col > 0) {
+                        if (j - last_col == 1) {
+                            h = Math.min(h, fr[j] + (i - k));
+
+                        } else if (i - k == 1) {
+                            h = Math.min(h, t + (j - last_col));
+                        }
+                    }
                 }
 
-                h[i + 1][j + 1] = min(
-                        h[i][j] + cost, // substitution
-                        h[i + 1][j] + 1, // insertion
-                        h[i][j + 1] + 1, // deletion
-                        h[i1][j1] + (i - i1 - 1) + 1 + (j - j1 - 1));
+                diag2 = r[j];
+                r[j] = h;
+                minr = Math.min(minr, h);
             }
 
-            da.put(s1.charAt(i - 1), i);
-        }
+            if (minr >= limit) {
+                return limit;
+            }
 
-        return h[s1.length() + 1][s2.length() + 1];
-    }
+            last_row[index.get(c1)] = i;
+        }
 
-    private static int min(
-            final int a, final int b, final int c, final int d) {
-        return Math.min(a, Math.min(b, Math.min(c, d)));
+        return Math.min(r[m], limit);
     }
-
 }
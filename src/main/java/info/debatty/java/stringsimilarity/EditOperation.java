@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * A run of identical edit operations of an {@link Alignment}.
+ *
+ * The run covers the characters s1[position1 .. position1 + length[ and/or
+ * s2[position2 .. position2 + length[: MATCH and SUBSTITUTION runs consume
+ * characters of both strings, DELETION runs only consume characters of s1
+ * and INSERTION runs only consume characters of s2 (they are inserted at
+ * position1 of s1).
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public final class EditOperation {
+
+    /**
+     * Type of edit operation.
+     */
+    public enum Type {
+        /**
+         * Characters are equal.
+         */
+        MATCH,
+
+        /**
+         * Characters of s1 are replaced by characters of s2.
+         */
+        SUBSTITUTION,
+
+        /**
+         * Characters of s2 are inserted in s1.
+         */
+        INSERTION,
+
+        /**
+         * Characters of s1 are removed.
+         */
+        DELETION
+    }
+
+    private final Type type;
+    private final int position1;
+    private final int position2;
+    private final int length;
+
+    EditOperation(
+            final Type type, final int position1, final int position2,
+            final int length) {
+        this.type = type;
+        this.position1 = position1;
+        this.position2 = position2;
+        this.length = length;
+    }
+
+    /**
+     * Type of the operations of this run.
+     * @return the type of the operations
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Position of the run in s1.
+     * @return the index of the first character of s1 covered by this run
+     */
+    public int getPosition1() {
+        return position1;
+    }
+
+    /**
+     * Position of the run in s2.
+     * @return the index of the first character of s2 covered by this run
+     */
+    public int getPosition2() {
+        return position2;
+    }
+
+    /**
+     * Number of operations in this run.
+     * @return the number of characters covered by this run
+     */
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + position1 + ", " + position2 + ", " + length + ")";
+    }
+}
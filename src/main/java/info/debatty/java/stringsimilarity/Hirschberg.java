@@ -0,0 +1,423 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optimal alignment of two strings in linear space, with the divide and
+ * conquer algorithm of D. Hirschberg, "A linear space algorithm for computing
+ * maximal common subsequences", Communications of the ACM, 1975.
+ *
+ * s1 is split in two halves. The cost of aligning the first half with each
+ * prefix of s2 is computed row by row from the top of the matrix, and the
+ * cost of aligning the second half with each suffix of s2 is computed from
+ * the bottom. The column where the sum is minimal is a point of an optimal
+ * path, so both halves can be aligned independently. The algorithm runs in
+ * O(n.m) time (roughly twice the cost of computing the distance) and O(m)
+ * space, plus the size of the result.
+ *
+ * Small sub-problems are solved directly with the full matrix and a
+ * traceback, which is faster than further recursion.
+ *
+ * Instances are not thread-safe, and are meant for a single alignment.
+ *
+ * @author Thibault Debatty
+ */
+final class Hirschberg {
+
+    /**
+     * Sub-problems of at most this many cells are solved with the full
+     * matrix.
+     */
+    static final int FULL_MATRIX_CELLS = 1 << 14;
+
+    /**
+     * Costs of the edit operations. Aligning equal characters is a match,
+     * which is free.
+     */
+    interface Costs {
+
+        /**
+         * @param c
+         * @return the cost of inserting c
+         */
+        double insertion(char c);
+
+        /**
+         * @param c
+         * @return the cost of deleting c
+         */
+        double deletion(char c);
+
+        /**
+         * @param c1
+         * @param c2
+         * @return the cost of replacing c1 by c2 (c1 != c2)
+         */
+        double substitution(char c1, char c2);
+    }
+
+    /**
+     * Unit costs of Levenshtein.
+     */
+    static final Costs LEVENSHTEIN = new Costs() {
+        @Override
+        public double insertion(final char c) {
+            return 1.0;
+        }
+
+        @Override
+        public double deletion(final char c) {
+            return 1.0;
+        }
+
+        @Override
+        public double substitution(final char c1, final char c2) {
+            return 1.0;
+        }
+    };
+
+    /**
+     * Costs of the LCS distance: substitutions are not allowed.
+     */
+    static final Costs LCS = new Costs() {
+        @Override
+        public double insertion(final char c) {
+            return 1.0;
+        }
+
+        @Override
+        public double deletion(final char c) {
+            return 1.0;
+        }
+
+        @Override
+        public double substitution(final char c1, final char c2) {
+            return Double.POSITIVE_INFINITY;
+        }
+    };
+
+    private final Costs costs;
+    private final String s1;
+    private final String s2;
+
+    // rows of the forward and backward passes
+    private final double[] forward;
+    private final double[] backward;
+
+    // matrix of the small sub-problems
+    private double[] matrix = new double[0];
+
+    private final List<EditOperation> operations =
+            new ArrayList<EditOperation>();
+    private double cost;
+
+    // current run
+    private EditOperation.Type run_type;
+    private int run_position1;
+    private int run_position2;
+    private int run_length;
+
+    Hirschberg(final Costs costs, final String s1, final String s2) {
+        this.costs = costs;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.forward = new double[s2.length() + 1];
+        this.backward = new double[s2.length() + 1];
+    }
+
+    /**
+     * Compute an optimal alignment of s1 and s2.
+     * @param skip_affixes if true, the common prefix and suffix of s1 and s2
+     *                     are matched without computation, which is only
+     *                     correct if insertions and deletions have unit costs
+     * @return the alignment
+     */
+    Alignment align(final boolean skip_affixes) {
+        int prefix = 0;
+        int suffix = 0;
+        if (skip_affixes) {
+            prefix = Affixes.prefix(s1, s2);
+            suffix = Affixes.suffix(s1, s2, prefix);
+        }
+
+        append(EditOperation.Type.MATCH, 0, 0, prefix, 0.0);
+        align(prefix, s1.length() - suffix, prefix, s2.length() - suffix);
+        append(EditOperation.Type.MATCH,
+                s1.length() - suffix, s2.length() - suffix, suffix, 0.0);
+        flush();
+
+        return new Alignment(operations, cost);
+    }
+
+    /**
+     * Align s1[from1 .. to1[ with s2[from2 .. to2[.
+     */
+    private void align(
+            final int from1, final int to1, final int from2, final int to2) {
+
+        final int n = to1 - from1;
+        final int m = to2 - from2;
+
+        if (n == 0) {
+            for (int j = from2; j < to2; j++) {
+                append(EditOperation.Type.INSERTION, from1, j, 1,
+                        costs.insertion(s2.charAt(j)));
+            }
+            return;
+        }
+
+        if (m == 0) {
+            for (int i = from1; i < to1; i++) {
+                append(EditOperation.Type.DELETION, i, from2, 1,
+                        costs.deletion(s1.charAt(i)));
+            }
+            return;
+        }
+
+        if (n == 1 || (long) (n + 1) * (m + 1) <= FULL_MATRIX_CELLS) {
+            alignFullMatrix(from1, to1, from2, to2);
+            return;
+        }
+
+        final int middle = from1 + n / 2;
+
+        // forward[j]: cost of s1[from1 .. middle[ and s2[from2 .. from2 + j[
+        forward[0] = 0;
+        for (int j = 1; j <= m; j++) {
+            forward[j] = forward[j - 1]
+                    + costs.insertion(s2.charAt(from2 + j - 1));
+        }
+
+        for (int i = from1; i < middle; i++) {
+            char c1 = s1.charAt(i);
+            double deletion = costs.deletion(c1);
+            double diagonal = forward[0];
+            forward[0] += deletion;
+
+            for (int j = 1; j <= m; j++) {
+                char c2 = s2.charAt(from2 + j - 1);
+                double up = forward[j];
+                forward[j] = min(
+                        diagonal + substitution(c1, c2),
+                        up + deletion,
+                        forward[j - 1] + costs.insertion(c2));
+                diagonal = up;
+            }
+        }
+
+        // backward[j]: cost of s1[middle .. to1[ and s2[to2 - j .. to2[
+        backward[0] = 0;
+        for (int j = 1; j <= m; j++) {
+            backward[j] = backward[j - 1]
+                    + costs.insertion(s2.charAt(to2 - j));
+        }
+
+        for (int i = to1 - 1; i >= middle; i--) {
+            char c1 = s1.charAt(i);
+            double deletion = costs.deletion(c1);
+            double diagonal = backward[0];
+            backward[0] += deletion;
+
+            for (int j = 1; j <= m; j++) {
+                char c2 = s2.charAt(to2 - j);
+                double up = backward[j];
+                backward[j] = min(
+                        diagonal + substitution(c1, c2),
+                        up + deletion,
+                        backward[j - 1] + costs.insertion(c2));
+                diagonal = up;
+            }
+        }
+
+        // the optimal path crosses row middle at column split
+        int split = 0;
+        double best = Double.POSITIVE_INFINITY;
+        for (int j = 0; j <= m; j++) {
+            double total = forward[j] + backward[m - j];
+            if (total < best) {
+                best = total;
+                split = j;
+            }
+        }
+
+        align(from1, middle, from2, from2 + split);
+        align(middle, to1, from2 + split, to2);
+    }
+
+    /**
+     * Align s1[from1 .. to1[ with s2[from2 .. to2[ using the full matrix.
+     */
+    private void alignFullMatrix(
+            final int from1, final int to1, final int from2, final int to2) {
+
+        final int n = to1 - from1;
+        final int m = to2 - from2;
+        final int width = m + 1;
+
+        if (matrix.length < (n + 1) * width) {
+            matrix = new double[(n + 1) * width];
+        }
+        final double[] d = matrix;
+
+        d[0] = 0;
+        for (int j = 1; j <= m; j++) {
+            d[j] = d[j - 1] + costs.insertion(s2.charAt(from2 + j - 1));
+        }
+
+        for (int i = 1; i <= n; i++) {
+            char c1 = s1.charAt(from1 + i - 1);
+            double deletion = costs.deletion(c1);
+            d[i * width] = d[(i - 1) * width] + deletion;
+
+            for (int j = 1; j <= m; j++) {
+                char c2 = s2.charAt(from2 + j - 1);
+                d[i * width + j] = min(
+                        d[(i - 1) * width + j - 1] + substitution(c1, c2),
+                        d[(i - 1) * width + j] + deletion,
+                        d[i * width + j - 1] + costs.insertion(c2));
+            }
+        }
+
+        // traceback, from the bottom right corner
+        EditOperation.Type[] path = new EditOperation.Type[n + m];
+        int length = 0;
+        int i = n;
+        int j = m;
+        while (i > 0 || j > 0) {
+            if (i > 0 && j > 0) {
+                char c1 = s1.charAt(from1 + i - 1);
+                char c2 = s2.charAt(from2 + j - 1);
+                if (d[i * width + j]
+                        == d[(i - 1) * width + j - 1] + substitution(c1, c2)) {
+                    path[length++] = c1 == c2
+                            ? EditOperation.Type.MATCH
+                            : EditOperation.Type.SUBSTITUTION;
+                    i--;
+                    j--;
+                    continue;
+                }
+            }
+
+            if (i > 0 && d[i * width + j] == d[(i - 1) * width + j]
+                    + costs.deletion(s1.charAt(from1 + i - 1))) {
+                path[length++] = EditOperation.Type.DELETION;
+                i--;
+
+            } else {
+                path[length++] = EditOperation.Type.INSERTION;
+                j--;
+            }
+        }
+
+        // replay the path, from the top left corner
+        i = from1;
+        j = from2;
+        for (int k = length - 1; k >= 0; k--) {
+            switch (path[k]) {
+                case MATCH:
+                    append(path[k], i, j, 1, 0.0);
+                    i++;
+                    j++;
+                    break;
+
+                case SUBSTITUTION:
+                    append(path[k], i, j, 1,
+                            costs.substitution(s1.charAt(i), s2.charAt(j)));
+                    i++;
+                    j++;
+                    break;
+
+                case DELETION:
+                    append(path[k], i, j, 1, costs.deletion(s1.charAt(i)));
+                    i++;
+                    break;
+
+                default:
+                    append(path[k], i, j, 1, costs.insertion(s2.charAt(j)));
+                    j++;
+                    break;
+            }
+        }
+    }
+
+    private double substitution(final char c1, final char c2) {
+        if (c1 == c2) {
+            return 0.0;
+        }
+        return costs.substitution(c1, c2);
+    }
+
+    /**
+     * Append length operations of the given type, merging them with the
+     * current run if possible.
+     */
+    private void append(
+            final EditOperation.Type type,
+            final int position1, final int position2, final int length,
+            final double operation_cost) {
+
+        if (length == 0) {
+            return;
+        }
+
+        cost += operation_cost;
+
+        int next1 = run_position1;
+        if (run_type != EditOperation.Type.INSERTION) {
+            next1 += run_length;
+        }
+
+        int next2 = run_position2;
+        if (run_type != EditOperation.Type.DELETION) {
+            next2 += run_length;
+        }
+
+        if (type == run_type && position1 == next1 && position2 == next2) {
+            run_length += length;
+            return;
+        }
+
+        flush();
+        run_type = type;
+        run_position1 = position1;
+        run_position2 = position2;
+        run_length = length;
+    }
+
+    private void flush() {
+        if (run_length > 0) {
+            operations.add(new EditOperation(
+                    run_type, run_position1, run_position2, run_length));
+        }
+        run_length = 0;
+        run_type = null;
+    }
+
+    private static double min(final double a, final double b, final double c) {
+        return Math.min(a, Math.min(b, c));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.util.Arrays;
+import net.jcip.annotations.Immutable;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Inverse document frequency (IDF) of the k-shingles of a corpus, used by
+ * {@link TfIdfCosine} to give more weight to rare shingles than to common
+ * ones (like "the").
+ *
+ * The IDF of a shingle that appears in df of the N documents of the corpus
+ * is ln((1 + N) / (1 + df)) + 1. Shingles that do not appear in the corpus
+ * get the highest weight, ln(1 + N) + 1.
+ *
+ * A model is fitted in a single pass over the corpus, with a
+ * {@link Builder}. The memory requirement only depends on the number of
+ * distinct shingles of the corpus. Models are immutable and serializable.
+ *
+ * <pre>
+ * IdfModel.Builder builder = new IdfModel.Builder(3);
+ * for (String document : corpus) {
+ *     builder.add(document);
+ * }
+ * IdfModel model = builder.build();
+ * </pre>
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public final class IdfModel implements Serializable {
+
+    private final int k;
+    private final int documents;
+
+    /**
+     * Keys of the shingles (see {@link ShingleProfile#getKey(int)}), sorted
+     * in increasing order, and their IDF.
+     */
+    private final long[] keys;
+    private final float[] idf;
+    private final float unknown_idf;
+
+    private IdfModel(final int k, final int documents,
+            final long[] keys, final int[] frequencies) {
+        this.k = k;
+        this.documents = documents;
+        this.keys = keys;
+        this.idf = new float[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            idf[i] = (float) idf(documents, frequencies[i]);
+        }
+        this.unknown_idf = (float) idf(documents, 0);
+    }
+
+    /**
+     * Return k, the length of the shingles.
+     * @return the length of the shingles
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Number of documents of the corpus.
+     * @return the number of documents
+     */
+    public int getDocuments() {
+        return documents;
+    }
+
+    /**
+     * Number of distinct shingles of the corpus.
+     * @return the number of shingles
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * IDF of the shingle with the given key.
+     * @param key
+     * @return the IDF of the shingle
+     */
+    public double getIdf(final long key) {
+        int position = Arrays.binarySearch(keys, key);
+        return position >= 0 ? idf[position] : unknown_idf;
+    }
+
+    /**
+     * Multiply the counts of a profile by the IDF of the shingles.
+     * @param profile whose keys are sorted
+     * @param weights receives the weight of each shingle of profile
+     */
+    void weigh(final ShingleProfile profile, final float[] weights) {
+        final long[] profile_keys = profile.keys();
+        final int[] counts = profile.counts();
+
+        // both key arrays are sorted, so the search starts at the position
+        // of the previous key
+        int from = 0;
+        for (int i = 0; i < profile_keys.length; i++) {
+            int position = Arrays.binarySearch(
+                    keys, from, keys.length, profile_keys[i]);
+            float weight;
+            if (position >= 0) {
+                weight = idf[position];
+                from = position + 1;
+            } else {
+                weight = unknown_idf;
+                from = -position - 1;
+            }
+            weights[i] = counts[i] * weight;
+        }
+    }
+
+    private static double idf(final int documents, final int frequency) {
+        return Math.log((1.0 + documents) / (1.0 + frequency)) + 1.0;
+    }
+
+    /**
+     * Fits an {@link IdfModel} in a single pass over a corpus: each document
+     * is added once, then {@link #build()} computes the model.
+     */
+    @NotThreadSafe
+    public static final class Builder {
+
+        private final ShingleBased shingling;
+        private final ShingleVocabulary vocabulary = ShingleVocabulary.local();
+        private int[] frequencies = new int[1024];
+        private int documents;
+
+        /**
+         * Create a builder for a model of k-shingles.
+         * @param k length of the shingles
+         * @throws IllegalArgumentException if k is &lt;= 0
+         */
+        public Builder(final int k) {
+            shingling = new ShingleBased(k) { };
+        }
+
+        /**
+         * Add a document to the corpus.
+         * @param document
+         * @return this
+         * @throws NullPointerException if document is null.
+         */
+        public Builder add(final CharSequence document) {
+            if (document == null) {
+                throw new NullPointerException("document must not be null");
+            }
+            return add(shingling.getShingleProfile(document));
+        }
+
+        /**
+         * Add a document to the corpus, reading it until the end of the
+         * stream. The reader is not closed.
+         * @param document
+         * @return this
+         * @throws NullPointerException if document is null.
+         * @throws IOException if document throws an IOException
+         */
+        public Builder add(final Reader document) throws IOException {
+            if (document == null) {
+                throw new NullPointerException("document must not be null");
+            }
+            return add(shingling.getShingleProfile(document));
+        }
+
+        /**
+         * Add the profile of a document to the corpus.
+         * @param profile
+         * @return this
+         * @throws NullPointerException if profile is null.
+         * @throws IllegalArgumentException if profile was computed with
+         * another value of k.
+         */
+        public Builder add(final ShingleProfile profile) {
+            shingling.checkProfiles(profile, profile);
+
+            final long[] profile_keys = profile.keys();
+            for (int i = 0; i < profile_keys.length; i++) {
+                int id = vocabulary.getOrAdd(profile_keys[i]);
+                if (id == frequencies.length) {
+                    frequencies = Arrays.copyOf(frequencies, 2 * id);
+                }
+                frequencies[id]++;
+            }
+            documents++;
+            return this;
+        }
+
+        /**
+         * Compute the model of the documents added so far.
+         * @return the model
+         */
+        public IdfModel build() {
+            final int size = vocabulary.size();
+            long[] keys = new long[size];
+            for (int id = 0; id < size; id++) {
+                keys[id] = vocabulary.getKey(id);
+            }
+            Arrays.sort(keys);
+
+            int[] sorted_frequencies = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted_frequencies[i] = frequencies[vocabulary.getId(keys[i])];
+            }
+
+            return new IdfModel(
+                    shingling.getK(), documents, keys, sorted_frequencies);
+        }
+    }
+}
@@ -27,9 +27,6 @@ package info.debatty.java.stringsimilarity;
 import info.debatty.java.stringsimilarity.interfaces.MetricStringDistance;
 import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
 import info.debatty.java.stringsimilarity.interfaces.NormalizedStringDistance;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
 import net.jcip.annotations.Immutable;
 
@@ -95,18 +92,27 @@ public class Jaccard extends ShingleBased implements
             return 1;
         }
 
-        Map<String, Integer> profile1 = getProfile(s1);
-        Map<String, Integer> profile2 = getProfile(s2);
-
+        return similarity(getShingleProfile(s1), getShingleProfile(s2));
+    }
 
-        Set<String> union = new HashSet<String>();
-        union.addAll(profile1.keySet());
-        union.addAll(profile2.keySet());
+    /**
+     * Compute Jaccard index between precomputed profiles (see
+     * {@link #getShingleProfile(String)}).
+     * @param profile1
+     * @param profile2
+     * @return The Jaccard index in the range [0, 1]
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double similarity(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        checkProfiles(profile1, profile2);
 
-        int inter = profile1.keySet().size() + profile2.keySet().size()
-                - union.size();
+        int inter = profile1.intersection(profile2);
+        int union = profile1.size() + profile2.size() - inter;
 
-        return 1.0 * inter / union.size();
+        return 1.0 * inter / union;
     }
 
 
@@ -121,4 +127,91 @@ public class Jaccard extends ShingleBased implements
     public final double distance(final String s1, final String s2) {
         return 1.0 - similarity(s1, s2);
     }
+
+    /**
+     * Distance is computed as 1 - similarity, using precomputed profiles.
+     * @param profile1
+     * @param profile2
+     * @return 1 - the Jaccard similarity.
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double distance(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        return 1.0 - similarity(profile1, profile2);
+    }
+
+    /**
+     * Compute Jaccard index between two records of a {@link ProfileStore}.
+     * @param store
+     * @param record1 index of the first record in store
+     * @param record2 index of the second record in store
+     * @return The Jaccard index in the range [0, 1]
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles of store were
+     * computed with another value of k.
+     * @throws IndexOutOfBoundsException if a record does not exist.
+     */
+    public final double similarity(
+            final ProfileStore store, final int record1, final int record2) {
+        checkStore(store);
+
+        int inter = store.intersection(record1, record2);
+        int union = store.size(record1) + store.size(record2) - inter;
+
+        return 1.0 * inter / union;
+    }
+
+    /**
+     * Distance is computed as 1 - similarity, for two records of a
+     * {@link ProfileStore}.
+     * @param store
+     * @param record1 index of the first record in store
+     * @param record2 index of the second record in store
+     * @return 1 - the Jaccard similarity.
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles of store were
+     * computed with another value of k.
+     * @throws IndexOutOfBoundsException if a record does not exist.
+     */
+    public final double distance(
+            final ProfileStore store, final int record1, final int record2) {
+        return 1.0 - similarity(store, record1, record2);
+    }
+
+    /**
+     * Compute Jaccard index between precomputed sets of shingles (see
+     * {@link #getShingleSet(CharSequence, ShingleVocabulary)}).
+     * @param set1
+     * @param set2
+     * @return The Jaccard index in the range [0, 1]
+     * @throws NullPointerException if set1 or set2 is null.
+     * @throws IllegalArgumentException if a set was computed with another
+     * value of k, or the sets use different vocabularies.
+     */
+    public final double similarity(
+            final ShingleSet set1, final ShingleSet set2) {
+        checkSets(set1, set2);
+
+        int inter = set1.intersection(set2);
+        int union = set1.size() + set2.size() - inter;
+
+        return 1.0 * inter / union;
+    }
+
+    /**
+     * Distance is computed as 1 - similarity, using precomputed sets of
+     * shingles.
+     * @param set1
+     * @param set2
+     * @return 1 - the Jaccard similarity.
+     * @throws NullPointerException if set1 or set2 is null.
+     * @throws IllegalArgumentException if a set was computed with another
+     * value of k, or the sets use different vocabularies.
+     */
+    public final double distance(
+            final ShingleSet set1, final ShingleSet set2) {
+        return 1.0 - similarity(set1, set2);
+    }
 }
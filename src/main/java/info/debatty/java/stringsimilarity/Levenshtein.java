@@ -1,6 +1,7 @@
 package info.debatty.java.stringsimilarity;
 
 import info.debatty.java.stringsimilarity.interfaces.MetricStringDistance;
+import java.util.concurrent.ForkJoinPool;
 import net.jcip.annotations.Immutable;
 
 /**
@@ -35,16 +36,27 @@ public class Levenshtein implements MetricStringDistance {
      * between two strings is no greater than the sum Levenshtein distances from
      * a third string).
      *
-     * Implementation uses dynamic programming (Wagner–Fischer algorithm), with
-     * only 2 rows of data. The space requirement is thus O(m) and the algorithm
-     * runs in O(mn).
+     * Implementation uses the bit-parallel algorithm of Myers (1999), in the
+     * formulation of Hyyrö (2003): the shortest string is encoded as bit masks
+     * and each column of the dynamic programming matrix is computed with a
+     * few operations per 64-bit word. The algorithm thus runs in
+     * O(n.ceil(m/64)) where m is the length of the shortest string, which is
+     * O(n) for strings of at most 64 characters. The common prefix and suffix
+     * of the strings are skipped, so only their differing middle parts are
+     * actually compared.
+     *
+     * When a small limit is provided and the strings are long, only the
+     * diagonal band of width 2.limit + 1 of the matrix is computed (Ukkonen,
+     * 1985), which runs in O(limit.n). In any case, strings whose lengths
+     * differ by at least limit are rejected immediately.
      *
      * 两个单词之间的Levenshtein距离或编辑距离是将一个单词转换为另一个单词所需的最小单字符编辑（插入，删除或*替换）次数。
      * http://en.wikipedia.org/wiki/Levenshtein_distance
      * 始终至少是两个字符串的大小之差。 它最多是较长字符串的长度。 当且仅当字符串相等时为零。
      * 如果字符串大小相同，则说明距离为Levenshtein距离的上限*。 *
      * Levenshtein距离验证三角形不等式（两个字符串之间的距离*不大于与*第三个字符串的Levenshtein距离之和）。
-     * 实现使用动态编程（Wagner–Fischer算法），仅2行数据。因此，空间需求为O（m），算法 在O（mn）中运行
+     * 实现使用Myers（1999）的位并行算法（Hyyrö 2003的形式）：较短的字符串被编码为位掩码，动态规划矩阵的每一列
+     * 每个64位字只需几次运算。因此算法在O（n.ceil（m/64））中运行，对于不超过64个字符的字符串即为O（n）
      *
      * @param s1 The first string to compare.
      * @param s2 The second string to compare.
@@ -55,7 +67,8 @@ public class Levenshtein implements MetricStringDistance {
      *              calculation to completion in every case.
      * 停止前要计算的最大结果。这表示如果您只在乎*具有相似性的字符串，则计算可以提前终止。
      *              如果要在任何情况下都执行计算以完成操作，请将其设置为Integer.MAX_VALUE
-     * @return The computed Levenshtein distance.
+     * @return The computed Levenshtein distance, or limit if the distance is
+     *         at least limit.
      * @throws NullPointerException if s1 or s2 is null.
      */
     public final double distance(final String s1, final String s2,
@@ -72,63 +85,231 @@ public class Levenshtein implements MetricStringDistance {
             return 0;
         }
 
-        if (s1.length() == 0) {
-            return s2.length();
+        // The distance is at least the difference of lengths
+        if (Math.abs(s1.length() - s2.length()) >= limit) {
+            return limit;
+        }
+
+        // Common prefix and suffix do not change the distance
+        int prefix = Affixes.prefix(s1, s2);
+        int suffix = Affixes.suffix(s1, s2, prefix);
+        int to1 = s1.length() - suffix;
+        int to2 = s2.length() - suffix;
+
+        if (to1 == prefix) {
+            return to2 - prefix;
+        }
+
+        if (to2 == prefix) {
+            return to1 - prefix;
+        }
+
+        // Use the shortest string as pattern, so it requires as few 64-bit
+        // words as possible
+        String pattern = s1;
+        int to_pattern = to1;
+        String text = s2;
+        int to_text = to2;
+        if (to1 > to2) {
+            pattern = s2;
+            to_pattern = to2;
+            text = s1;
+            to_text = to1;
+        }
+
+        int pattern_length = to_pattern - prefix;
+        Workspace ws = Workspace.get();
+
+        if (useBand(pattern_length, limit)) {
+            return banded(text, prefix, to_text,
+                    pattern, prefix, to_pattern, limit,
+                    ws.ints(0, pattern_length + 1),
+                    ws.ints(1, pattern_length + 1));
+        }
+
+        PatternMasks peq = ws.masks().reset(pattern, prefix, to_pattern);
+        return BitParallel.levenshtein(peq, text, prefix, to_text, limit,
+                ws.longs(0, peq.words()), ws.longs(1, peq.words()));
+    }
+
+    /**
+     * Compute the Levenshtein distance using the threads of pool, for very
+     * long strings (typically more than 10 000 characters).
+     *
+     * The matrix is split in tiles, which are computed in parallel along
+     * anti-diagonal wavefronts. The result is exactly the same as
+     * distance(s1, s2). Short strings are processed by the current thread.
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @param pool The pool that computes the tiles.
+     * @return The computed Levenshtein distance.
+     * @throws NullPointerException if s1, s2 or pool is null.
+     */
+    public final double distance(final String s1, final String s2,
+                                 final ForkJoinPool pool) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
+        }
+
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
+        }
+
+        if (pool == null) {
+            throw new NullPointerException("pool must not be null");
+        }
+
+        final int prefix = Affixes.prefix(s1, s2);
+        final int suffix = Affixes.suffix(s1, s2, prefix);
+        final int to1 = s1.length() - suffix;
+        final int to2 = s2.length() - suffix;
+
+        if (to1 <= to2 && Wavefront.isWorthIt(to1 - prefix, to2 - prefix)) {
+            return Wavefront.levenshtein(pool,
+                    s1, prefix, to1,
+                    s2, prefix, to2);
+        }
+
+        if (to2 < to1 && Wavefront.isWorthIt(to2 - prefix, to1 - prefix)) {
+            return Wavefront.levenshtein(pool,
+                    s2, prefix, to2,
+                    s1, prefix, to1);
+        }
+
+        return distance(s1, s2);
+    }
+
+    /**
+     * Compute an optimal alignment of s1 and s2: the insertions, deletions,
+     * substitutions and matches that transform s1 into s2 with the minimal
+     * number of edits.
+     *
+     * The alignment is computed with the divide and conquer algorithm of
+     * Hirschberg (1975), which requires O(n.m) time but only O(m) space, so
+     * long documents can be aligned.
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return the alignment, whose cost is the Levenshtein distance.
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    public final Alignment align(final String s1, final String s2) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
         }
 
-        if (s2.length() == 0) {
-            return s1.length();
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
         }
 
-        // create two work vectors of integer distances
-        int[] v0 = new int[s2.length() + 1];
-        int[] v1 = new int[s2.length() + 1];
+        return new Hirschberg(Hirschberg.LEVENSHTEIN, s1, s2).align(true);
+    }
+
+    /**
+     * Precompute the bit masks of query, to compute the distance between
+     * query and many other strings.
+     *
+     * @param query The string to compare with other strings.
+     * @return a matcher that computes the distance between query and other
+     *         strings.
+     * @throws NullPointerException if query is null.
+     */
+    public static LevenshteinMatcher compile(final String query) {
+        return new LevenshteinMatcher(query);
+    }
+
+    /**
+     * Indicates if the banded algorithm should be used instead of the
+     * bit-parallel algorithm. Processing a 64-bit block of the bit-parallel
+     * algorithm costs roughly as much as computing one or two cells of the
+     * banded algorithm, so the band is only worth it if it is narrower than
+     * the number of blocks of the pattern. Patterns that fit in a single word
+     * always use the bit-parallel algorithm.
+     */
+    static boolean useBand(final int pattern_length, final int limit) {
+        if (pattern_length <= PatternMasks.WORD_SIZE) {
+            return false;
+        }
+
+        int words = (pattern_length + PatternMasks.WORD_SIZE - 1)
+                / PatternMasks.WORD_SIZE;
+        return 2L * limit + 1 < words;
+    }
+
+    /**
+     * Banded algorithm (Ukkonen, "Algorithms for approximate string
+     * matching", 1985): a path of cost less than limit cannot leave the
+     * diagonal band |i - j| &lt;= limit, so only the 2.limit + 1 cells of the
+     * band are computed in each row. The algorithm thus runs in
+     * O(limit.n). It also stops as soon as all the cells of a row are at
+     * least limit.
+     *
+     * The difference between the lengths of s1[from1 .. to1[ and
+     * s2[from2 .. to2[ must be less than limit, and both must be non empty.
+     * Work vectors w0 and w1 must have at least (to2 - from2 + 1) elements.
+     *
+     * @return min(distance, limit)
+     */
+    static int banded(
+            final String s1, final int from1, final int to1,
+            final String s2, final int from2, final int to2,
+            final int limit, final int[] w0, final int[] w1) {
+
+        final int n = to1 - from1;
+        final int m = to2 - from2;
+
+        // Cells outside of the band are "infinite"
+        final int inf = limit + 1;
+
+        int[] v0 = w0;
+        int[] v1 = w1;
         int[] vtemp;
 
-        // initialize v0 (the previous row of distances)
-        // this row is A[0][i]: edit distance for an empty s
-        // the distance is just the number of characters to delete from t
-        for (int i = 0; i < v0.length; i++) {
-            v0[i] = i;
+        for (int j = 0; j <= m; j++) {
+            v0[j] = j <= limit ? j : inf;
+            v1[j] = inf;
         }
 
-        for (int i = 0; i < s1.length(); i++) {
-            // calculate v1 (current row distances) from the previous row v0
-            // first element of v1 is A[i+1][0]
-            //   edit distance is delete (i+1) chars from s to match empty t
-            v1[0] = i + 1;
+        for (int i = 1; i <= n; i++) {
+            int jmin = Math.max(1, i - limit);
+            int jmax = Math.min(m, i + limit);
+
+            if (jmin == 1) {
+                v1[0] = i;
+            } else {
+                v1[jmin - 1] = inf;
+            }
 
-            int minv1 = v1[0];
+            int minv1 = v1[jmin - 1];
+            char c1 = s1.charAt(from1 + i - 1);
 
-            // use formula to fill in the rest of the row
-            for (int j = 0; j < s2.length(); j++) {
+            for (int j = jmin; j <= jmax; j++) {
                 int cost = 1;
-                if (s1.charAt(i) == s2.charAt(j)) {
+                if (c1 == s2.charAt(from2 + j - 1)) {
                     cost = 0;
                 }
-                v1[j + 1] = Math.min(
-                        v1[j] + 1,              // Cost of insertion
+                int v = Math.min(
+                        v1[j - 1] + 1,          // Cost of insertion
                         Math.min(
-                                v0[j + 1] + 1,  // Cost of remove
-                                v0[j] + cost)); // Cost of substitution
-
-                minv1 = Math.min(minv1, v1[j + 1]);
+                                v0[j] + 1,      // Cost of remove
+                                v0[j - 1] + cost)); // Cost of substitution
+                if (v > inf) {
+                    v = inf;
+                }
+                v1[j] = v;
+                minv1 = Math.min(minv1, v);
             }
 
             if (minv1 >= limit) {
                 return limit;
             }
 
-            // copy v1 (current row) to v0 (previous row) for next iteration
-            //System.arraycopy(v1, 0, v0, 0, v0.length);
-
-            // Flip references to current and previous row
             vtemp = v0;
             v0 = v1;
             v1 = vtemp;
-
         }
 
-        return v0[s2.length()];
+        return Math.min(v0[m], limit);
     }
 }
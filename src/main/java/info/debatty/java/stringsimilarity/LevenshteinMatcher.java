@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Levenshtein distance between a fixed query and many other strings.
+ *
+ * The bit masks of the query are computed once, when the matcher is created
+ * (see {@link Levenshtein#compile(String)}), and the matcher owns its work
+ * vectors. Computing the distance to a candidate thus requires no memory
+ * allocation.
+ *
+ * Results are identical to {@link Levenshtein#distance(String, String, int)}.
+ * As it holds work vectors, a matcher is not thread-safe: each thread should
+ * compile its own matcher.
+ *
+ * <pre>
+ * LevenshteinMatcher matcher = Levenshtein.compile("My string");
+ * for (String candidate : dictionary) {
+ *     if (matcher.distance(candidate, 3) &lt; 3) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Thibault Debatty
+ */
+@NotThreadSafe
+public final class LevenshteinMatcher {
+
+    private final String query;
+    private final PatternMasks peq;
+
+    // work vectors of the bit-parallel algorithm
+    private final long[] vp;
+    private final long[] vn;
+
+    // work vectors of the banded algorithm
+    private final int[] v0;
+    private final int[] v1;
+
+    /**
+     * @param query
+     * @throws NullPointerException if query is null.
+     */
+    LevenshteinMatcher(final String query) {
+        if (query == null) {
+            throw new NullPointerException("query must not be null");
+        }
+
+        this.query = query;
+        this.peq = new PatternMasks().reset(query, 0, query.length());
+        this.vp = new long[peq.words()];
+        this.vn = new long[peq.words()];
+        this.v0 = new int[query.length() + 1];
+        this.v1 = new int[query.length() + 1];
+    }
+
+    /**
+     * Return the query of this matcher.
+     * @return the query
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Equivalent to distance(candidate, Integer.MAX_VALUE).
+     * @param candidate The string to compare with the query.
+     * @return The computed Levenshtein distance.
+     * @throws NullPointerException if candidate is null.
+     */
+    public int distance(final String candidate) {
+        return distance(candidate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compute the Levenshtein distance between the query and candidate.
+     *
+     * @param candidate The string to compare with the query.
+     * @param limit The maximum result to compute before stopping.
+     * @return The computed Levenshtein distance, or limit if the distance is
+     *         at least limit.
+     * @throws NullPointerException if candidate is null.
+     */
+    public int distance(final String candidate, final int limit) {
+        if (candidate == null) {
+            throw new NullPointerException("candidate must not be null");
+        }
+
+        if (query.equals(candidate)) {
+            return 0;
+        }
+
+        if (Math.abs(query.length() - candidate.length()) >= limit) {
+            return limit;
+        }
+
+        if (query.length() == 0) {
+            return candidate.length();
+        }
+
+        if (candidate.length() == 0) {
+            return query.length();
+        }
+
+        if (Levenshtein.useBand(query.length(), limit)) {
+            return Levenshtein.banded(
+                    candidate, 0, candidate.length(),
+                    query, 0, query.length(), limit, v0, v1);
+        }
+
+        return BitParallel.levenshtein(
+                peq, candidate, 0, candidate.length(), limit, vp, vn);
+    }
+}
@@ -1,6 +1,7 @@
 package info.debatty.java.stringsimilarity;
 
 import info.debatty.java.stringsimilarity.interfaces.StringDistance;
+import java.util.concurrent.ForkJoinPool;
 import net.jcip.annotations.Immutable;
 
 /**
@@ -18,15 +19,19 @@ import net.jcip.annotations.Immutable;
  * deletion is allowed (no substitution), or when the cost of the substitution
  * is the double of the cost of an insertion or deletion.
  *
- * ! This class currently implements the dynamic programming approach, which has
- * a space requirement O(m * n)!
+ * This class implements the bit-parallel algorithm of Allison and Dix (1986),
+ * as simplified by Hyyrö (2004): the shortest string is encoded as bit
+ * masks, and each row of the dynamic programming matrix is computed with a
+ * few operations per 64-bit word. It thus runs in O(n.ceil(m/64)) time and
+ * O(m/64) space, where m is the length of the shortest string.
  *
  * 最长公共子序列（LCS）问题在于找到两个（或更多）序列公共的最长*子序列。
  * 它不同于查找公共子字符串的问题：与子字符串不同，不需要子序列占据原始序列中的连续位置。
  * 它由diff实用程序，Git用于协调多个更改等。字符串X（长度n）和Y（长度m）之间的LCS距离为n + m-2
  * | LCS（X，Y ）| min = 0 max = n + m
  * LCS距离等于Levenshtein距离，仅允许插入和删除（不允许替换），或者替换成本是插入或删除成本的两倍时。
- * ！此类当前实现了动态编程方法，该方法具有空间要求O（m * n）！
+ * 此类实现了Allison和Dix（1986）的位并行算法（Hyyrö 2004的简化形式）：较短的字符串被编码为位掩码，
+ * 动态规划矩阵的每一行每个64位字只需几次运算。因此运行时间为O（n.ceil（m/64）），空间需求为O（m/64）。
  *
  * @author Thibault Debatty
  */
@@ -78,41 +83,121 @@ public class LongestCommonSubsequence implements StringDistance {
             throw new NullPointerException("s2 must not be null");
         }
 
-        /* function LCSLength(X[1..m], Y[1..n])
-         C = array(0..m, 0..n)
-
-         for i := 0..m
-         C[i,0] = 0
-
-         for j := 0..n
-         C[0,j] = 0
-
-         for i := 1..m
-         for j := 1..n
-         if X[i] = Y[j]
-         C[i,j] := C[i-1,j-1] + 1
-         else
-         C[i,j] := max(C[i,j-1], C[i-1,j])
-         return C[m,n]
-         */
-        int s1_length = s1.length();
-        int s2_length = s2.length();
-        char[] x = s1.toCharArray();
-        char[] y = s2.toCharArray();
-
-        int[][] c = new int[s1_length + 1][s2_length + 1];
-
-        for (int i = 1; i <= s1_length; i++) {
-            for (int j = 1; j <= s2_length; j++) {
-                if (x[i - 1] == y[j - 1]) {
-                    c[i][j] = c[i - 1][j - 1] + 1;
-
-                } else {
-                    c[i][j] = Math.max(c[i][j - 1], c[i - 1][j]);
-                }
-            }
+        // The common prefix and suffix belong to the LCS
+        final int prefix = Affixes.prefix(s1, s2);
+        final int suffix = Affixes.suffix(s1, s2, prefix);
+        final int to1 = s1.length() - suffix;
+        final int to2 = s2.length() - suffix;
+
+        if (to1 == prefix || to2 == prefix) {
+            return prefix + suffix;
+        }
+
+        // Use the shortest string as pattern, so it requires as few 64-bit
+        // words as possible
+        String pattern = s1;
+        int to_pattern = to1;
+        String text = s2;
+        int to_text = to2;
+        if (to1 > to2) {
+            pattern = s2;
+            to_pattern = to2;
+            text = s1;
+            to_text = to1;
+        }
+
+        Workspace ws = Workspace.get();
+        PatternMasks peq = ws.masks().reset(pattern, prefix, to_pattern);
+        return prefix + suffix + BitParallel.lcs(
+                peq, text, prefix, to_text, ws.longs(0, peq.words()));
+    }
+
+    /**
+     * Return the LCS distance between strings s1 and s2, using the threads
+     * of pool to compute the length of the LCS (see
+     * {@link #length(String, String, ForkJoinPool)}).
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @param pool The pool that computes the tiles.
+     * @return the LCS distance between strings s1 and s2
+     * @throws NullPointerException if s1, s2 or pool is null.
+     */
+    public final double distance(final String s1, final String s2,
+                                 final ForkJoinPool pool) {
+        int length = length(s1, s2, pool);
+        return s1.length() + s2.length() - 2 * length;
+    }
+
+    /**
+     * Return the length of Longest Common Subsequence (LCS) between strings s1
+     * and s2, using the threads of pool, for very long strings (typically
+     * more than 10 000 characters).
+     *
+     * The matrix is split in tiles, which are computed in parallel along
+     * anti-diagonal wavefronts. The result is exactly the same as
+     * length(s1, s2). Short strings are processed by the current thread.
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @param pool The pool that computes the tiles.
+     * @return the length of LCS(s1, s2)
+     * @throws NullPointerException if s1, s2 or pool is null.
+     */
+    public final int length(final String s1, final String s2,
+                            final ForkJoinPool pool) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
+        }
+
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
+        }
+
+        if (pool == null) {
+            throw new NullPointerException("pool must not be null");
+        }
+
+        final int prefix = Affixes.prefix(s1, s2);
+        final int suffix = Affixes.suffix(s1, s2, prefix);
+        final int to1 = s1.length() - suffix;
+        final int to2 = s2.length() - suffix;
+
+        if (to1 <= to2 && Wavefront.isWorthIt(to1 - prefix, to2 - prefix)) {
+            return prefix + suffix
+                    + Wavefront.lcs(pool, s1, prefix, to1, s2, prefix, to2);
+        }
+
+        if (to2 < to1 && Wavefront.isWorthIt(to2 - prefix, to1 - prefix)) {
+            return prefix + suffix
+                    + Wavefront.lcs(pool, s2, prefix, to2, s1, prefix, to1);
+        }
+
+        return length(s1, s2);
+    }
+
+    /**
+     * Compute an optimal alignment of s1 and s2: the matched characters form
+     * a longest common subsequence, the other characters are deleted from s1
+     * or inserted from s2 (there are no substitutions).
+     *
+     * The alignment is computed with the divide and conquer algorithm of
+     * Hirschberg (1975), which requires O(n.m) time but only O(m) space.
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return the alignment, whose cost is the LCS distance.
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    public final Alignment align(final String s1, final String s2) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
+        }
+
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
         }
 
-        return c[s1_length][s2_length];
+        return new Hirschberg(Hirschberg.LCS, s1, s2).align(true);
     }
 }
@@ -0,0 +1,409 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.Arrays;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Locality-sensitive hashing index (Indyk &amp; Motwani, 1998), to find the
+ * pairs of similar strings without comparing all pairs.
+ *
+ * Each signature (see {@link MinHash#signature(String)}) or fingerprint (see
+ * {@link SimHash#fingerprint(String)}) is split in b bands of r rows (r
+ * values of a MinHash signature, or r bits of a SimHash fingerprint). Two
+ * records are candidates if they are identical on at least one band. For
+ * MinHash, two records with Jaccard index s are thus candidates with
+ * probability 1 - (1 - s^r)^b: an S-curve whose threshold is roughly
+ * (1 / b)^(1 / r) (see {@link #getThreshold()}). Increasing b finds more
+ * similar pairs, while increasing r removes more dissimilar pairs.
+ *
+ * Candidates are only likely to be similar, so they should be verified with
+ * the exact similarity:
+ *
+ * <pre>
+ * MinHash minhash = new MinHash(5, 100);
+ * LshIndex index = new LshIndex(20, 5);
+ * for (String record : corpus) {
+ *     index.add(minhash.signature(record));
+ * }
+ *
+ * Jaccard jaccard = new Jaccard(5);
+ * for (int candidate : index.candidates(minhash.signature(query))) {
+ *     double similarity = jaccard.similarity(query, corpus[candidate]);
+ * }
+ * </pre>
+ *
+ * All records of an index must be signatures of the same kind and size.
+ * Records can only be appended. Once all records are added, the index can
+ * be queried concurrently by multiple threads.
+ *
+ * @author Thibault Debatty
+ */
+@NotThreadSafe
+public final class LshIndex {
+
+    private static final int WORD_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int bands;
+    private final int rows;
+
+    /**
+     * One open-addressing table per band, from the key of the band to the
+     * last record of the bucket. A slot is empty if its head is 0, otherwise
+     * head is the record + 1.
+     */
+    private final long[][] keys;
+    private final int[][] heads;
+    private final int[] buckets;
+
+    /**
+     * Linked lists of the records of each bucket: next[record * bands + band]
+     * is the previous record of the same bucket + 1, or 0.
+     */
+    private int[] next;
+    private int size;
+
+    /**
+     * Create an empty index, splitting the signatures in bands of rows
+     * values (or bits). Signatures must have at least bands.rows values.
+     * @param bands number of bands
+     * @param rows number of values (or bits) per band
+     * @throws IllegalArgumentException if bands or rows is &lt;= 0
+     */
+    public LshIndex(final int bands, final int rows) {
+        if (bands <= 0) {
+            throw new IllegalArgumentException("bands should be positive!");
+        }
+
+        if (rows <= 0) {
+            throw new IllegalArgumentException("rows should be positive!");
+        }
+
+        this.bands = bands;
+        this.rows = rows;
+        keys = new long[bands][INITIAL_CAPACITY];
+        heads = new int[bands][INITIAL_CAPACITY];
+        buckets = new int[bands];
+        next = new int[INITIAL_CAPACITY * bands];
+    }
+
+    /**
+     * Return the number of bands.
+     * @return the number of bands
+     */
+    public int getBands() {
+        return bands;
+    }
+
+    /**
+     * Return the number of values (or bits) per band.
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Approximate similarity (Jaccard index for MinHash) above which two
+     * records are likely to be candidates: (1 / bands)^(1 / rows).
+     * @return the threshold
+     */
+    public double getThreshold() {
+        return Math.pow(1.0 / bands, 1.0 / rows);
+    }
+
+    /**
+     * Number of records in the index.
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a MinHash signature to the index.
+     * @param signature
+     * @return the index of the record (0 for the first record, 1 for the
+     * second etc.)
+     * @throws NullPointerException if signature is null.
+     * @throws IllegalArgumentException if signature has less than
+     * bands.rows values.
+     */
+    public int add(final int[] signature) {
+        return addKeys(bandKeys(signature));
+    }
+
+    /**
+     * Add a SimHash fingerprint to the index.
+     * @param fingerprint
+     * @return the index of the record (0 for the first record, 1 for the
+     * second etc.)
+     * @throws NullPointerException if fingerprint is null.
+     * @throws IllegalArgumentException if fingerprint has less than
+     * bands.rows bits, or rows is more than 64.
+     */
+    public int add(final long[] fingerprint) {
+        return addKeys(bandKeys(fingerprint));
+    }
+
+    /**
+     * Records that share at least one band with a MinHash signature.
+     * @param signature
+     * @return the candidate records, sorted in increasing order
+     * @throws NullPointerException if signature is null.
+     * @throws IllegalArgumentException if signature has less than
+     * bands.rows values.
+     */
+    public int[] candidates(final int[] signature) {
+        return candidatesOf(bandKeys(signature));
+    }
+
+    /**
+     * Records that share at least one band with a SimHash fingerprint.
+     * @param fingerprint
+     * @return the candidate records, sorted in increasing order
+     * @throws NullPointerException if fingerprint is null.
+     * @throws IllegalArgumentException if fingerprint has less than
+     * bands.rows bits, or rows is more than 64.
+     */
+    public int[] candidates(final long[] fingerprint) {
+        return candidatesOf(bandKeys(fingerprint));
+    }
+
+    /**
+     * All pairs of records that share at least one band. Each pair is
+     * returned once, packed in a long as (record1 &lt;&lt; 32) | record2, with
+     * record1 &lt; record2:
+     *
+     * <pre>
+     * for (long pair : index.candidatePairs()) {
+     *     int record1 = (int) (pair &gt;&gt;&gt; 32);
+     *     int record2 = (int) pair;
+     * }
+     * </pre>
+     *
+     * The cost is proportional to the sum of the squared sizes of the
+     * buckets, hence rows should be large enough to avoid huge buckets.
+     *
+     * @return the candidate pairs, sorted in increasing order
+     */
+    public long[] candidatePairs() {
+        long[] pairs = new long[INITIAL_CAPACITY];
+        int count = 0;
+        int[] bucket = new int[INITIAL_CAPACITY];
+
+        for (int band = 0; band < bands; band++) {
+            int[] band_heads = heads[band];
+            for (int slot = 0; slot < band_heads.length; slot++) {
+                // records of the bucket, in decreasing order
+                int bucket_size = 0;
+                for (int record = band_heads[slot] - 1; record >= 0;
+                        record = next[record * bands + band] - 1) {
+                    if (bucket_size == bucket.length) {
+                        bucket = Arrays.copyOf(bucket, 2 * bucket_size);
+                    }
+                    bucket[bucket_size++] = record;
+                }
+
+                for (int i = 1; i < bucket_size; i++) {
+                    for (int j = 0; j < i; j++) {
+                        if (count == pairs.length) {
+                            pairs = Arrays.copyOf(pairs, 2 * count);
+                        }
+                        pairs[count++] =
+                                ((long) bucket[i] << 32) | bucket[j];
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(pairs, 0, count);
+        return Arrays.copyOf(pairs, unique(pairs, count));
+    }
+
+    private int addKeys(final long[] band_keys) {
+        if ((size + 1) * bands > next.length) {
+            next = Arrays.copyOf(next, 2 * next.length);
+        }
+
+        final int record = size++;
+        for (int band = 0; band < bands; band++) {
+            long[] band_table = keys[band];
+            int[] band_heads = heads[band];
+            long key = band_keys[band];
+
+            int mask = band_table.length - 1;
+            int slot = hash(key) & mask;
+            while (band_heads[slot] != 0 && band_table[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (band_heads[slot] == 0) {
+                band_table[slot] = key;
+                buckets[band]++;
+            }
+            next[record * bands + band] = band_heads[slot];
+            band_heads[slot] = record + 1;
+
+            if (2 * buckets[band] > band_table.length) {
+                rehash(band, 2 * band_table.length);
+            }
+        }
+        return record;
+    }
+
+    private int[] candidatesOf(final long[] band_keys) {
+        int[] found = new int[INITIAL_CAPACITY];
+        int count = 0;
+
+        for (int band = 0; band < bands; band++) {
+            long[] band_table = keys[band];
+            int[] band_heads = heads[band];
+            long key = band_keys[band];
+
+            int mask = band_table.length - 1;
+            int slot = hash(key) & mask;
+            while (band_heads[slot] != 0 && band_table[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            for (int record = band_heads[slot] - 1; record >= 0;
+                    record = next[record * bands + band] - 1) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, 2 * count);
+                }
+                found[count++] = record;
+            }
+        }
+
+        Arrays.sort(found, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || found[i] != found[i - 1]) {
+                found[distinct++] = found[i];
+            }
+        }
+        return Arrays.copyOf(found, distinct);
+    }
+
+    /**
+     * Key of each band of a MinHash signature: a hash of its rows values.
+     * Different bands may collide, which only adds candidates.
+     */
+    private long[] bandKeys(final int[] signature) {
+        if (signature == null) {
+            throw new NullPointerException("signature must not be null");
+        }
+
+        if (signature.length < (long) bands * rows) {
+            throw new IllegalArgumentException(
+                    "Signatures must have at least " + (bands * rows)
+                    + " values");
+        }
+
+        long[] band_keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long h = 0;
+            for (int i = band * rows; i < (band + 1) * rows; i++) {
+                h = (h + signature[i]) * 0x9E3779B97F4A7C15L;
+            }
+            band_keys[band] = ShingleBased.mix(h);
+        }
+        return band_keys;
+    }
+
+    /**
+     * Key of each band of a SimHash fingerprint: its rows bits.
+     */
+    private long[] bandKeys(final long[] fingerprint) {
+        if (fingerprint == null) {
+            throw new NullPointerException("fingerprint must not be null");
+        }
+
+        if (rows > WORD_SIZE) {
+            throw new IllegalArgumentException(
+                    "Bands of fingerprints must have at most 64 bits");
+        }
+
+        if ((long) fingerprint.length * WORD_SIZE < (long) bands * rows) {
+            throw new IllegalArgumentException(
+                    "Fingerprints must have at least " + (bands * rows)
+                    + " bits");
+        }
+
+        final long mask = rows == WORD_SIZE ? ~0L : (1L << rows) - 1;
+        long[] band_keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            int from = band * rows;
+            int word = from / WORD_SIZE;
+            int offset = from % WORD_SIZE;
+            long bits = fingerprint[word] >>> offset;
+            if (offset + rows > WORD_SIZE) {
+                bits |= fingerprint[word + 1] << (WORD_SIZE - offset);
+            }
+            band_keys[band] = bits & mask;
+        }
+        return band_keys;
+    }
+
+    private void rehash(final int band, final int capacity) {
+        long[] old_keys = keys[band];
+        int[] old_heads = heads[band];
+        long[] new_keys = new long[capacity];
+        int[] new_heads = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < old_keys.length; i++) {
+            if (old_heads[i] == 0) {
+                continue;
+            }
+            int slot = hash(old_keys[i]) & mask;
+            while (new_heads[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            new_keys[slot] = old_keys[i];
+            new_heads[slot] = old_heads[i];
+        }
+
+        keys[band] = new_keys;
+        heads[band] = new_heads;
+    }
+
+    private static int unique(final long[] sorted, final int count) {
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct;
+    }
+
+    private static int hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
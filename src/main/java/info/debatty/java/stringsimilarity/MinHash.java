@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringDistance;
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+import java.util.Random;
+import net.jcip.annotations.Immutable;
+
+/**
+ * MinHash (Broder, "On the resemblance and containment of documents", 1997)
+ * estimates the Jaccard index of the sets of k-shingles of two strings from
+ * small fixed-size signatures.
+ *
+ * Each string is first transformed into its set of k-shingles. The signature
+ * is then made of n values: for each of the n hash functions, the minimum
+ * hash value over all shingles of the set. The probability that two sets have
+ * the same minimum for a given hash function is their Jaccard index, hence
+ * the fraction of equal signature values is an unbiased estimation of the
+ * Jaccard index, with a standard error of at most 1 / (2.sqrt(n)).
+ *
+ * Signatures are int[] of n values, and can be compared in O(n), whatever the
+ * length of the strings. They are a typical first filtering stage, before
+ * computing the exact similarity of candidate pairs. Signatures can only be
+ * compared if they were computed by instances with the same k, n and seed.
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public class MinHash extends ShingleBased implements
+        NormalizedStringDistance, NormalizedStringSimilarity {
+
+    private static final int DEFAULT_SIGNATURE_SIZE = 128;
+    private static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    /**
+     * Hash function i is h(x) = (multipliers[i].x + offsets[i]) &gt;&gt;&gt; 33,
+     * applied to the mixed 64-bit key x of the shingle.
+     */
+    private final long[] multipliers;
+    private final long[] offsets;
+
+    /**
+     * Copy of k: ShingleBased is not serializable, so k is restored from
+     * this field when the instance is deserialized (see readResolve).
+     */
+    private final int shingle_length;
+
+    /**
+     * Signatures of n values, computed with the k-shingles of the strings.
+     * Hash functions are drawn from a pseudo-random generator initialized
+     * with seed, so instances with the same k, n and seed produce the same
+     * signatures.
+     *
+     * @param k length of the shingles
+     * @param n number of hash functions (size of the signatures)
+     * @param seed seed of the hash functions
+     * @throws IllegalArgumentException if k or n is &lt;= 0
+     */
+    public MinHash(final int k, final int n, final long seed) {
+        super(k);
+        if (n <= 0) {
+            throw new IllegalArgumentException("n should be positive!");
+        }
+
+        Random random = new Random(seed);
+        multipliers = new long[n];
+        offsets = new long[n];
+        for (int i = 0; i < n; i++) {
+            // odd multipliers are bijections of the 64-bit integers
+            multipliers[i] = random.nextLong() | 1L;
+            offsets[i] = random.nextLong();
+        }
+        shingle_length = k;
+    }
+
+    private MinHash(
+            final int k, final long[] multipliers, final long[] offsets) {
+        super(k);
+        this.multipliers = multipliers;
+        this.offsets = offsets;
+        this.shingle_length = k;
+    }
+
+    /**
+     * Signatures of n values, computed with the k-shingles of the strings,
+     * and a default seed.
+     *
+     * @param k length of the shingles
+     * @param n number of hash functions (size of the signatures)
+     * @throws IllegalArgumentException if k or n is &lt;= 0
+     */
+    public MinHash(final int k, final int n) {
+        this(k, n, DEFAULT_SEED);
+    }
+
+    /**
+     * Signatures of 128 values, computed with the 3-shingles of the strings.
+     */
+    public MinHash() {
+        this(3, DEFAULT_SIGNATURE_SIZE);
+    }
+
+    /**
+     * Return n, the number of values of the signatures.
+     * @return the size of the signatures
+     */
+    public final int getSignatureSize() {
+        return multipliers.length;
+    }
+
+    /**
+     * Compute the signature of s.
+     * @param s
+     * @return the signature of s
+     * @throws NullPointerException if s is null.
+     */
+    public final int[] signature(final String s) {
+        if (s == null) {
+            throw new NullPointerException("s must not be null");
+        }
+
+        return signature(getShingleProfile(s));
+    }
+
+    /**
+     * Compute the signature of a precomputed profile (see
+     * {@link #getShingleProfile(String)}). Only the set of shingles is
+     * used, not their number of occurrences.
+     *
+     * The signature of a string that has no shingle (shorter than k) only
+     * contains Integer.MAX_VALUE.
+     *
+     * @param profile
+     * @return the signature of profile
+     * @throws NullPointerException if profile is null.
+     * @throws IllegalArgumentException if profile was computed with another
+     * value of k.
+     */
+    public final int[] signature(final ShingleProfile profile) {
+        checkProfiles(profile, profile);
+
+        final int n = multipliers.length;
+        int[] signature = new int[n];
+        for (int i = 0; i < n; i++) {
+            signature[i] = Integer.MAX_VALUE;
+        }
+
+        final long[] keys = profile.keys();
+        for (int s = 0; s < keys.length; s++) {
+            // short shingles are packed, not hashed: spread their bits first
+            long x = mix(keys[s]);
+            for (int i = 0; i < n; i++) {
+                int h = (int) ((multipliers[i] * x + offsets[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimate the Jaccard index of the shingles of s1 and s2.
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return The estimated Jaccard index in the range [0, 1]
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public final double similarity(final String s1, final String s2) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
+        }
+
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
+        }
+
+        if (s1.equals(s2)) {
+            return 1;
+        }
+
+        return similarity(signature(s1), signature(s2));
+    }
+
+    /**
+     * Estimate the Jaccard index from two signatures: the fraction of
+     * positions where both signatures have the same value.
+     *
+     * A signature that only contains Integer.MAX_VALUE is the signature of
+     * a string without shingle (shorter than k). As for Jaccard, the
+     * similarity is 0 if only one of the signatures is empty, and NaN if
+     * both are.
+     *
+     * @param signature1
+     * @param signature2
+     * @return The estimated Jaccard index in the range [0, 1], or NaN
+     * @throws NullPointerException if signature1 or signature2 is null.
+     * @throws IllegalArgumentException if a signature does not have n
+     * values.
+     */
+    public final double similarity(
+            final int[] signature1, final int[] signature2) {
+        if (signature1 == null) {
+            throw new NullPointerException("signature1 must not be null");
+        }
+
+        if (signature2 == null) {
+            throw new NullPointerException("signature2 must not be null");
+        }
+
+        final int n = multipliers.length;
+        if (signature1.length != n || signature2.length != n) {
+            throw new IllegalArgumentException(
+                    "Signatures must have " + n + " values");
+        }
+
+        boolean empty1 = isEmpty(signature1);
+        boolean empty2 = isEmpty(signature2);
+        if (empty1 && empty2) {
+            return Double.NaN;
+        }
+
+        if (empty1 || empty2) {
+            return 0;
+        }
+
+        int equal = 0;
+        for (int i = 0; i < n; i++) {
+            if (signature1[i] == signature2[i]) {
+                equal++;
+            }
+        }
+        return 1.0 * equal / n;
+    }
+
+    private static boolean isEmpty(final int[] signature) {
+        for (int i = 0; i < signature.length; i++) {
+            if (signature[i] != Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distance is computed as 1 - estimated similarity.
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return 1 - the estimated Jaccard index.
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public final double distance(final String s1, final String s2) {
+        return 1.0 - similarity(s1, s2);
+    }
+
+    /**
+     * Distance is computed as 1 - estimated similarity, from two signatures.
+     * @param signature1
+     * @param signature2
+     * @return 1 - the estimated Jaccard index.
+     * @throws NullPointerException if signature1 or signature2 is null.
+     * @throws IllegalArgumentException if a signature does not have n
+     * values.
+     */
+    public final double distance(
+            final int[] signature1, final int[] signature2) {
+        return 1.0 - similarity(signature1, signature2);
+    }
+
+    /**
+     * ShingleBased is not serializable, so a deserialized instance gets the
+     * default k: rebuild it with the actual k, and the same hash functions.
+     */
+    private Object readResolve() {
+        return new MinHash(shingle_length, multipliers, offsets);
+    }
+}
@@ -76,27 +76,28 @@ public class NGram implements NormalizedStringDistance {
             return (float) cost / Math.max(sl, tl);
         }
 
-        char[] sa = new char[sl + n - 1];
+        Workspace ws = Workspace.get();
+        char[] sa = ws.chars(0, sl + n - 1);
         float[] p; //'previous' cost array, horizontally
         float[] d; // cost array, horizontally
         float[] d2; //placeholder to assist in swapping p and d
 
         //construct sa with prefix
-        for (int i = 0; i < sa.length; i++) {
+        for (int i = 0; i < sl + n - 1; i++) {
             if (i < n - 1) {
                 sa[i] = special; //add prefix
             } else {
                 sa[i] = s0.charAt(i - n + 1);
             }
         }
-        p = new float[sl + 1];
-        d = new float[sl + 1];
+        p = ws.floats(0, sl + 1);
+        d = ws.floats(1, sl + 1);
 
         // indexes into strings s and t
         int i; // iterates through source
         int j; // iterates through target
 
-        char[] t_j = new char[n]; // jth n-gram of t
+        char[] t_j = ws.chars(1, n); // jth n-gram of t
 
         for (i = 0; i <= sl; i++) {
             p[i] = i;
@@ -112,7 +113,7 @@ public class NGram implements NormalizedStringDistance {
                     t_j[ti] = s1.charAt(ti - (n - j));
                 }
             } else {
-                t_j = s1.substring(j - n, j).toCharArray();
+                s1.getChars(j - n, j, t_j, 0);
             }
             d[0] = j;
             for (i = 1; i <= sl; i++) {
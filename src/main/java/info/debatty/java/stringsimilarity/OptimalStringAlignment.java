@@ -39,11 +39,30 @@ import net.jcip.annotations.Immutable;
  * 两种算法之间的区别在于，最优字符串对齐算法计算在使子字符串不被编辑超过一次的条件下使字符串相等所需的编辑操作次数，
  * 而Damerau-Levenshtein则不提供这样的编辑操作限制
  *
+ * Implementation uses the bit-parallel algorithm of Hyyrö (2003): the
+ * shortest string is encoded as bit masks, and each column of the distance
+ * matrix is computed with a few operations per 64-bit word. It thus runs in
+ * O(n.ceil(m/64)), where m is the length of the shortest string.
+ * 实现使用Hyyrö（2003）的位并行算法：较短的字符串被编码为位掩码，距离矩阵的每一列每个64位字只需几次运算。
+ *
  * @author Michail Bogdanos
  */
 @Immutable
 public final class OptimalStringAlignment implements StringDistance {
 
+    /**
+     * Equivalent to distance(s1, s2, Integer.MAX_VALUE).
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return the OSA distance
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public double distance(final String s1, final String s2) {
+        return distance(s1, s2, Integer.MAX_VALUE);
+    }
+
     /**
      * Compute the distance between strings: the minimum number of operations
      * needed to transform one string into the other (insertion, deletion,
@@ -52,11 +71,16 @@ public final class OptimalStringAlignment implements StringDistance {
      *
      * @param s1 The first string to compare.
      * @param s2 The second string to compare.
-     * @return the OSA distance
+     * @param limit The maximum result to compute before stopping. This
+     *              means that the calculation can terminate early if you
+     *              only care about strings with a certain similarity.
+     *              Set this to Integer.MAX_VALUE if you want to run the
+     *              calculation to completion in every case.
+     * @return the OSA distance, or limit if the distance is at least limit.
      * @throws NullPointerException if s1 or s2 is null.
      */
-    @Override
-    public double distance(final String s1, final String s2) {
+    public double distance(final String s1, final String s2,
+                           final int limit) {
         if (s1 == null) {
             throw new NullPointerException("s1 must not be null");
         }
@@ -69,59 +93,41 @@ public final class OptimalStringAlignment implements StringDistance {
             return 0;
         }
 
-        int n = s1.length(), m = s2.length();
-
-        if (n == 0) {
-            return m;
-        }
-
-        if (m == 0) {
-            return n;
+        // The distance is at least the difference of lengths
+        if (Math.abs(s1.length() - s2.length()) >= limit) {
+            return limit;
         }
 
-        // Create the distance matrix H[0 .. s1.length+1][0 .. s2.length+1]
-        int[][] d = new int[n + 2][m + 2];
+        // Only the differing middle parts of the strings have to be compared
+        final int prefix = Affixes.prefix(s1, s2);
+        final int suffix = Affixes.suffix(s1, s2, prefix);
+        final int to1 = s1.length() - suffix;
+        final int to2 = s2.length() - suffix;
 
-        //initialize top row and leftmost column
-        for (int i = 0; i <= n; i++) {
-            d[i][0] = i;
-        }
-        for (int j = 0; j <= m; j++) {
-            d[0][j] = j;
+        if (to1 == prefix) {
+            return to2 - prefix;
         }
 
-        //fill the distance matrix
-        int cost;
-
-        for (int i = 1; i <= n; i++) {
-            for (int j = 1; j <= m; j++) {
-
-                //if s1[i - 1] = s2[j - 1] then cost = 0, else cost = 1
-                cost = 1;
-                if (s1.charAt(i - 1) == s2.charAt(j - 1)) {
-                    cost = 0;
-                }
-
-                d[i][j] = min(
-                        d[i - 1][j - 1] + cost, // substitution
-                        d[i][j - 1] + 1, // insertion
-                        d[i - 1][j] + 1 // deletion
-                );
-
-                //transposition check
-                if (i > 1 && j > 1
-                        && s1.charAt(i - 1) == s2.charAt(j - 2)
-                        && s1.charAt(i - 2) == s2.charAt(j - 1)) {
-                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + cost);
-                }
-            }
+        if (to2 == prefix) {
+            return to1 - prefix;
         }
 
-        return d[n][m];
-    }
+        // The distance is symmetric, so use the shortest string as pattern
+        String pattern = s1;
+        int to_pattern = to1;
+        String text = s2;
+        int to_text = to2;
+        if (to1 > to2) {
+            pattern = s2;
+            to_pattern = to2;
+            text = s1;
+            to_text = to1;
+        }
 
-    private static int min(
-            final int a, final int b, final int c) {
-        return Math.min(a, Math.min(b, c));
+        Workspace ws = Workspace.get();
+        PatternMasks peq = ws.masks().reset(pattern, prefix, to_pattern);
+        return BitParallel.osa(peq, text, prefix, to_text, limit,
+                ws.longs(0, peq.words()), ws.longs(1, peq.words()),
+                ws.longs(2, peq.words()));
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.Arrays;
+
+/**
+ * Match masks of a pattern, as used by the bit-parallel algorithms: for each
+ * distinct character c of the pattern, bit i of the mask is set if
+ * pattern[i] == c (this is the Peq table of Myers' paper).
+ *
+ * Patterns longer than 64 characters are split in blocks of 64 characters,
+ * and each character gets one 64-bit word per block.
+ *
+ * Instances are mutable and not thread-safe, see {@link #reset}.
+ *
+ * @author Thibault Debatty
+ */
+final class PatternMasks {
+
+    static final int WORD_SIZE = 64;
+
+    private final CharIndex index = new CharIndex();
+    private long[] masks = new long[0];
+    private int words;
+    private int length;
+
+    /**
+     * Compute the masks of pattern[from .. to[, discarding the previous
+     * pattern.
+     * @param pattern
+     * @param from index of the first character (inclusive)
+     * @param to index of the last character (exclusive)
+     * @return this
+     */
+    PatternMasks reset(
+            final String pattern, final int from, final int to) {
+
+        Arrays.fill(masks, 0, index.size() * words, 0L);
+        index.clear();
+
+        length = to - from;
+        words = (length + WORD_SIZE - 1) / WORD_SIZE;
+
+        for (int i = 0; i < length; i++) {
+            int c = index.add(pattern.charAt(from + i));
+            int offset = c * words;
+            if (offset + words > masks.length) {
+                masks = Arrays.copyOf(
+                        masks, Math.max(2 * masks.length, offset + words));
+            }
+            masks[offset + i / WORD_SIZE] |= 1L << (i % WORD_SIZE);
+        }
+        return this;
+    }
+
+    /**
+     * Length of the pattern.
+     * @return the length of the pattern
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Number of 64-bit blocks required to represent the pattern.
+     * @return the number of blocks
+     */
+    int words() {
+        return words;
+    }
+
+    /**
+     * Offset of the masks of character c in {@link #masks()}, or -1 if c
+     * does not appear in the pattern.
+     * @param c
+     * @return the offset of the masks of c, or -1
+     */
+    int offset(final char c) {
+        int i = index.get(c);
+        if (i < 0) {
+            return -1;
+        }
+        return i * words;
+    }
+
+    /**
+     * Mask of c for the given block (0 if c does not appear in the pattern).
+     * @param c
+     * @param block
+     * @return the mask
+     */
+    long get(final char c, final int block) {
+        int i = index.get(c);
+        if (i < 0) {
+            return 0L;
+        }
+        return masks[i * words + block];
+    }
+
+    /**
+     * Number of masks that can be stored without reallocating.
+     * @return the capacity
+     */
+    int capacity() {
+        return masks.length;
+    }
+
+    /**
+     * Raw masks. The masks of a character are stored contiguously, starting
+     * at {@link #offset(char)}.
+     * @return the masks
+     */
+    long[] masks() {
+        return masks;
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.Arrays;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Compact in-memory store of shingle profiles, to precompute the profiles of
+ * a large corpus.
+ *
+ * The shingles of each profile are mapped to dense ids by a
+ * {@link ShingleVocabulary}, sorted, and encoded in a contiguous buffer as
+ * the variable-length (varint) differences between successive ids, each
+ * followed by the number of occurrences, quantized on 8 bits: counts below
+ * 128 are exact, larger counts are rounded to one of 127 logarithmic buckets
+ * (relative error below 2.2%). Counts beyond the last bucket (about 30 000)
+ * are stored exactly, after an escape code. The L2 norm of each profile is
+ * computed once, and stored as a float.
+ *
+ * A record thus typically requires 2 to 4 bytes per distinct shingle, plus
+ * 12 bytes. {@link Cosine}, {@link Jaccard}, {@link SorensenDice} and
+ * {@link QGram} compare records directly from the encoded buffer, without
+ * decoding them into objects. Jaccard and Sorensen-Dice are exact, while
+ * Cosine and Q-Gram use the quantized counts.
+ *
+ * Records can only be appended. Once all records are added, the store can be
+ * read concurrently by multiple threads.
+ *
+ * <pre>
+ * Jaccard jaccard = new Jaccard(3);
+ * ProfileStore store = new ProfileStore(3);
+ * for (String record : corpus) {
+ *     store.add(jaccard.getShingleProfile(record));
+ * }
+ * double similarity = jaccard.similarity(store, 0, 1);
+ * </pre>
+ *
+ * @author Thibault Debatty
+ */
+@NotThreadSafe
+public final class ProfileStore {
+
+    /**
+     * Size of the pages of the buffer. Records never span two pages.
+     */
+    private static final int PAGE_SIZE = 1 << 20;
+
+    private static final int EXACT_COUNTS = 128;
+    private static final int CODES = 256;
+
+    /**
+     * Code of counts that are too large to be quantized: the code is
+     * followed by the exact count, as a varint.
+     */
+    private static final int ESCAPE = CODES - 1;
+
+    /**
+     * Number of quantization buckets per doubling of the count.
+     */
+    private static final double BUCKETS_PER_OCTAVE = 16.0;
+
+    private static final int[] DEQUANTIZED = new int[CODES];
+
+    /**
+     * Operations of {@link #merge(int, int, int)}.
+     */
+    private static final int INTERSECTION = 0;
+    private static final int DOT_PRODUCT = 1;
+    private static final int L1_DISTANCE = 2;
+
+    static {
+        for (int code = 0; code < ESCAPE; code++) {
+            DEQUANTIZED[code] = dequantize(code);
+        }
+    }
+
+    private final int k;
+    private final ShingleVocabulary vocabulary;
+
+    private byte[][] pages = new byte[16][];
+    private int page_count;
+    private int page_position;
+    private long encoded_size;
+
+    // address of each record: page << 32 | position in page
+    private long[] addresses = new long[16];
+    private float[] norms = new float[16];
+    private int size;
+
+    /**
+     * Create an empty store for profiles of k-shingles, with its own
+     * vocabulary.
+     * @param k
+     */
+    public ProfileStore(final int k) {
+        this(k, new ShingleVocabulary());
+    }
+
+    /**
+     * Create an empty store for profiles of k-shingles, using the given
+     * vocabulary (which may be shared by multiple stores).
+     * @param k
+     * @param vocabulary
+     * @throws NullPointerException if vocabulary is null.
+     */
+    public ProfileStore(final int k, final ShingleVocabulary vocabulary) {
+        if (vocabulary == null) {
+            throw new NullPointerException("vocabulary must not be null");
+        }
+        this.k = k;
+        this.vocabulary = vocabulary;
+    }
+
+    /**
+     * Return k, the length of the shingles of the profiles.
+     * @return the length of the shingles
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Return the vocabulary that maps shingles to ids.
+     * @return the vocabulary
+     */
+    public ShingleVocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Number of records.
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of bytes used by the encoded records (excluding the per-record
+     * address and norm).
+     * @return the size of the encoded records, in bytes
+     */
+    public long getEncodedSize() {
+        return encoded_size;
+    }
+
+    /**
+     * Encode and append a profile.
+     * @param profile
+     * @return the index of the record
+     * @throws NullPointerException if profile is null.
+     * @throws IllegalArgumentException if the profile was computed with
+     * another value of k.
+     * @throws IllegalStateException if the vocabulary is frozen, and does
+     * not contain all the shingles of profile.
+     */
+    public int add(final ShingleProfile profile) {
+        if (profile == null) {
+            throw new NullPointerException("profile must not be null");
+        }
+
+        if (profile.getK() != k) {
+            throw new IllegalArgumentException(
+                    "Profile must be computed with k = " + k);
+        }
+
+        // sort the (id, count) pairs by id
+        final int distinct = profile.size();
+        long[] pairs = Workspace.get().longs(0, distinct);
+        for (int i = 0; i < distinct; i++) {
+            pairs[i] = ((long) vocabulary.add(profile.getKey(i)) << 32)
+                    | profile.getCount(i);
+        }
+        Arrays.sort(pairs, 0, distinct);
+
+        // worst case: 5 bytes per varint, plus the count (code and varint)
+        byte[] page = reserve(5 + 11 * distinct);
+        final int start = page_position;
+        int position = writeVarint(page, start, distinct);
+        int previous = 0;
+        double agg = 0;
+        for (int i = 0; i < distinct; i++) {
+            int id = (int) (pairs[i] >>> 32);
+            int count = (int) pairs[i];
+            position = writeVarint(page, position, id - previous);
+            previous = id;
+
+            int code = quantize(count);
+            page[position++] = (byte) code;
+            if (code == ESCAPE) {
+                position = writeVarint(page, position, count);
+            } else {
+                count = DEQUANTIZED[code];
+            }
+            agg += 1.0 * count * count;
+        }
+        page_position = position;
+        encoded_size += position - start;
+
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, size * 2);
+            norms = Arrays.copyOf(norms, size * 2);
+        }
+        addresses[size] = ((long) (page_count - 1) << 32) | start;
+        norms[size] = (float) Math.sqrt(agg);
+        return size++;
+    }
+
+    /**
+     * Number of distinct shingles of a record.
+     * @param record
+     * @return the number of distinct shingles
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    public int size(final int record) {
+        checkIndex(record);
+        byte[] page = pages[(int) (addresses[record] >>> 32)];
+        return readVarint(page, new int[] {(int) addresses[record]});
+    }
+
+    /**
+     * L2 norm of the (quantized) vector of occurrences of a record.
+     * @param record
+     * @return the L2 norm
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    public double getNorm(final int record) {
+        checkIndex(record);
+        return norms[record];
+    }
+
+    /**
+     * Number of distinct shingles that appear in both records.
+     */
+    int intersection(final int record1, final int record2) {
+        return (int) merge(record1, record2, INTERSECTION);
+    }
+
+    /**
+     * Dot product of the (quantized) vectors of occurrences.
+     */
+    double dotProduct(final int record1, final int record2) {
+        return merge(record1, record2, DOT_PRODUCT);
+    }
+
+    /**
+     * L1 norm of the difference of the (quantized) vectors of occurrences.
+     */
+    int l1Distance(final int record1, final int record2) {
+        return (int) merge(record1, record2, L1_DISTANCE);
+    }
+
+    /**
+     * Merge the sorted ids of two records, decoding them on the fly.
+     */
+    private double merge(
+            final int record1, final int record2, final int operation) {
+        checkIndex(record1);
+        checkIndex(record2);
+
+        final byte[] page1 = pages[(int) (addresses[record1] >>> 32)];
+        final byte[] page2 = pages[(int) (addresses[record2] >>> 32)];
+        final int[] position1 = {(int) addresses[record1]};
+        final int[] position2 = {(int) addresses[record2]};
+
+        // remaining shingles, and current id and count of each record
+        int remaining1 = readVarint(page1, position1);
+        int remaining2 = readVarint(page2, position2);
+        int id1 = 0;
+        int id2 = 0;
+        int count1 = 0;
+        int count2 = 0;
+
+        boolean advance1 = true;
+        boolean advance2 = true;
+        double agg = 0;
+
+        while (true) {
+            if (advance1) {
+                if (remaining1 == 0) {
+                    break;
+                }
+                id1 += readVarint(page1, position1);
+                count1 = page1[position1[0]++] & 0xFF;
+                if (count1 == ESCAPE) {
+                    count1 = readVarint(page1, position1);
+                } else {
+                    count1 = DEQUANTIZED[count1];
+                }
+                remaining1--;
+                advance1 = false;
+            }
+
+            if (advance2) {
+                if (remaining2 == 0) {
+                    break;
+                }
+                id2 += readVarint(page2, position2);
+                count2 = page2[position2[0]++] & 0xFF;
+                if (count2 == ESCAPE) {
+                    count2 = readVarint(page2, position2);
+                } else {
+                    count2 = DEQUANTIZED[count2];
+                }
+                remaining2--;
+                advance2 = false;
+            }
+
+            if (id1 < id2) {
+                if (operation == L1_DISTANCE) {
+                    agg += count1;
+                }
+                advance1 = true;
+
+            } else if (id1 > id2) {
+                if (operation == L1_DISTANCE) {
+                    agg += count2;
+                }
+                advance2 = true;
+
+            } else {
+                if (operation == INTERSECTION) {
+                    agg++;
+                } else if (operation == DOT_PRODUCT) {
+                    agg += 1.0 * count1 * count2;
+                } else {
+                    agg += Math.abs(count1 - count2);
+                }
+                advance1 = true;
+                advance2 = true;
+            }
+        }
+
+        if (operation == L1_DISTANCE) {
+            // the pending element (not yet counted) and the remaining ones
+            if (!advance1) {
+                agg += count1;
+            }
+            if (!advance2) {
+                agg += count2;
+            }
+            agg += sumCounts(page1, position1, remaining1);
+            agg += sumCounts(page2, position2, remaining2);
+        }
+
+        return agg;
+    }
+
+    /**
+     * Sum of the (quantized) counts of the next remaining shingles.
+     */
+    private static long sumCounts(
+            final byte[] page, final int[] position, final int remaining) {
+        long sum = 0;
+        for (int i = 0; i < remaining; i++) {
+            while (page[position[0]++] < 0) {
+                // skip the id
+            }
+
+            int code = page[position[0]++] & 0xFF;
+            if (code != ESCAPE) {
+                sum += DEQUANTIZED[code];
+                continue;
+            }
+            sum += readVarint(page, position);
+        }
+        return sum;
+    }
+
+    /**
+     * Quantize a count on 8 bits: counts below 128 are exact, larger counts
+     * are mapped to logarithmic buckets.
+     * @param count
+     * @return the code of count, in [0, 255], where 255 means that count
+     *         is too large and must be stored exactly
+     */
+    static int quantize(final int count) {
+        if (count < EXACT_COUNTS) {
+            return count;
+        }
+        long code = EXACT_COUNTS + Math.round(BUCKETS_PER_OCTAVE
+                * Math.log((double) count / EXACT_COUNTS) / Math.log(2));
+        return (int) Math.min(ESCAPE, code);
+    }
+
+    /**
+     * Approximate count of a code.
+     * @param code
+     * @return the count
+     */
+    static int dequantize(final int code) {
+        if (code < EXACT_COUNTS) {
+            return code;
+        }
+        return (int) Math.round(EXACT_COUNTS
+                * Math.pow(2, (code - EXACT_COUNTS) / BUCKETS_PER_OCTAVE));
+    }
+
+    /**
+     * Return a page with at least length free bytes, starting at
+     * page_position.
+     */
+    private byte[] reserve(final int length) {
+        if (page_count > 0
+                && page_position + length <= pages[page_count - 1].length) {
+            return pages[page_count - 1];
+        }
+
+        if (page_count == pages.length) {
+            pages = Arrays.copyOf(pages, page_count * 2);
+        }
+        pages[page_count++] = new byte[Math.max(PAGE_SIZE, length)];
+        page_position = 0;
+        return pages[page_count - 1];
+    }
+
+    private static int writeVarint(
+            final byte[] buffer, final int position, final int value) {
+        int p = position;
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            buffer[p++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buffer[p++] = (byte) v;
+        return p;
+    }
+
+    /**
+     * Decode the varint at position[0], and move position[0] past it.
+     */
+    private static int readVarint(final byte[] buffer, final int[] position) {
+        int p = position[0];
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer[p++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        position[0] = p;
+        return value;
+    }
+
+    private void checkIndex(final int record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("No record " + record);
+        }
+    }
+}
@@ -69,10 +69,24 @@ public class QGram extends ShingleBased implements StringDistance {
             return 0;
         }
 
-        Map<String, Integer> profile1 = getProfile(s1);
-        Map<String, Integer> profile2 = getProfile(s2);
+        return distance(getShingleProfile(s1), getShingleProfile(s2));
+    }
 
-        return distance(profile1, profile2);
+    /**
+     * Compute QGram distance using precomputed profiles (see
+     * {@link #getShingleProfile(String)}).
+     *
+     * @param profile1
+     * @param profile2
+     * @return The computed Q-gram distance.
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double distance(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        checkProfiles(profile1, profile2);
+        return profile1.l1Distance(profile2);
     }
 
     /**
@@ -108,4 +122,23 @@ public class QGram extends ShingleBased implements StringDistance {
         }
         return agg;
     }
+
+    /**
+     * Compute QGram distance between two records of a {@link ProfileStore},
+     * using their quantized counts.
+     *
+     * @param store
+     * @param record1 index of the first record in store
+     * @param record2 index of the second record in store
+     * @return The computed Q-gram distance.
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles of store were
+     * computed with another value of k.
+     * @throws IndexOutOfBoundsException if a record does not exist.
+     */
+    public final double distance(
+            final ProfileStore store, final int record1, final int record2) {
+        checkStore(store);
+        return store.l1Distance(record1, record2);
+    }
 }
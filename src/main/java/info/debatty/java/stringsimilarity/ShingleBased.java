@@ -25,6 +25,9 @@ package info.debatty.java.stringsimilarity;
 
 import net.jcip.annotations.Immutable;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -63,6 +66,11 @@ public abstract class ShingleBased {
 
     private static final int DEFAULT_K = 3;
 
+    /**
+     * Number of characters read at once from a Reader.
+     */
+    private static final int READ_BUFFER_SIZE = 8192;
+
     private final int k;
 
     /**
@@ -127,4 +135,298 @@ public abstract class ShingleBased {
 
         return Collections.unmodifiableMap(shingles);
     }
+
+    /**
+     * Compute the profile of s, like {@link #getProfile(String)}, but using
+     * primitive arrays instead of a map of strings: shingles are encoded as
+     * 64-bit keys, sorted in increasing order (see {@link ShingleProfile}).
+     * Multiple subsequent white spaces are replaced by a single space on the
+     * fly, and no String is created for the shingles.
+     *
+     * @param string
+     * @return the profile of this string
+     */
+    public final ShingleProfile getShingleProfile(final String string) {
+        return getShingleProfile((CharSequence) string);
+    }
+
+    /**
+     * Compute the profile of any character sequence (StringBuilder,
+     * CharBuffer etc.), like {@link #getShingleProfile(String)}, without
+     * copying it to a String.
+     *
+     * Sequences longer than 8192 characters are processed by blocks, like
+     * a {@link Reader}, so the memory requirement only depends on the
+     * number of distinct shingles, not on the length of the sequence.
+     *
+     * @param sequence
+     * @return the profile of this sequence
+     */
+    public final ShingleProfile getShingleProfile(
+            final CharSequence sequence) {
+        Workspace ws = Workspace.get();
+        final int length = sequence.length();
+        ShingleScanner scanner = new ShingleScanner(k, ws.chars(0, k));
+
+        if (length > READ_BUFFER_SIZE) {
+            char[] chars = ws.chars(1, READ_BUFFER_SIZE);
+            ShingleVocabulary vocabulary = ShingleVocabulary.local();
+            int[] counts = new int[READ_BUFFER_SIZE];
+
+            for (int from = 0; from < length; from += READ_BUFFER_SIZE) {
+                final int to = Math.min(length, from + READ_BUFFER_SIZE);
+                for (int i = from; i < to; i++) {
+                    chars[i - from] = sequence.charAt(i);
+                }
+                counts = count(chars, to - from, scanner, vocabulary, counts);
+            }
+            return toProfile(vocabulary, counts);
+        }
+
+        // short sequence: sort the keys of all shingles
+        long[] buffer = ws.longs(0, Math.max(0, length - k + 1));
+        int shingles = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (scanner.next(sequence.charAt(i))) {
+                buffer[shingles++] = scanner.key();
+            }
+        }
+
+        Arrays.sort(buffer, 0, shingles);
+
+        int distinct = 0;
+        for (int i = 0; i < shingles; i++) {
+            if (i == 0 || buffer[i] != buffer[i - 1]) {
+                distinct++;
+            }
+        }
+
+        long[] keys = new long[distinct];
+        int[] counts = new int[distinct];
+        int d = -1;
+        for (int i = 0; i < shingles; i++) {
+            if (i == 0 || buffer[i] != buffer[i - 1]) {
+                d++;
+                keys[d] = buffer[i];
+            }
+            counts[d]++;
+        }
+
+        return new ShingleProfile(k, keys, counts);
+    }
+
+    /**
+     * Compute the profile of the characters of reader, like
+     * {@link #getShingleProfile(String)}, until the end of the stream.
+     *
+     * Characters are read by blocks and shingles are counted on the fly, so
+     * the memory requirement only depends on the number of distinct
+     * shingles, not on the length of the stream. The reader is not closed.
+     *
+     * @param reader
+     * @return the profile of the characters of reader
+     * @throws IOException if reader throws an IOException
+     */
+    public final ShingleProfile getShingleProfile(final Reader reader)
+            throws IOException {
+        Workspace ws = Workspace.get();
+        char[] chars = ws.chars(1, READ_BUFFER_SIZE);
+        ShingleScanner scanner = new ShingleScanner(k, ws.chars(0, k));
+        ShingleVocabulary vocabulary = ShingleVocabulary.local();
+        int[] counts = new int[READ_BUFFER_SIZE];
+
+        int read;
+        while ((read = reader.read(chars, 0, READ_BUFFER_SIZE)) >= 0) {
+            counts = count(chars, read, scanner, vocabulary, counts);
+        }
+        return toProfile(vocabulary, counts);
+    }
+
+    /**
+     * Count the shingles of the first length characters of chars, by id in
+     * vocabulary.
+     * @return counts, or a larger copy if new ids did not fit in it
+     */
+    private static int[] count(final char[] chars, final int length,
+            final ShingleScanner scanner, final ShingleVocabulary vocabulary,
+            final int[] counts) {
+        int[] result = counts;
+        for (int i = 0; i < length; i++) {
+            if (!scanner.next(chars[i])) {
+                continue;
+            }
+
+            int id = vocabulary.getOrAdd(scanner.key());
+            if (id == result.length) {
+                result = Arrays.copyOf(result, 2 * id);
+            }
+            result[id]++;
+        }
+        return result;
+    }
+
+    /**
+     * Build the profile from the shingles of vocabulary and their counts.
+     */
+    private ShingleProfile toProfile(
+            final ShingleVocabulary vocabulary, final int[] counts) {
+        // sort the keys, then look up their counts
+        final int distinct = vocabulary.size();
+        long[] keys = new long[distinct];
+        for (int id = 0; id < distinct; id++) {
+            keys[id] = vocabulary.getKey(id);
+        }
+        Arrays.sort(keys);
+
+        int[] sorted_counts = new int[distinct];
+        for (int i = 0; i < distinct; i++) {
+            sorted_counts[i] = counts[vocabulary.getId(keys[i])];
+        }
+
+        return new ShingleProfile(k, keys, sorted_counts);
+    }
+
+    /**
+     * Compute the set of the distinct shingles of s, encoded as the ids
+     * assigned by vocabulary (see {@link ShingleSet}). Shingles that are
+     * not in the vocabulary yet are added to it, unless the vocabulary is
+     * frozen (see {@link ShingleSet} for the handling of unknown shingles).
+     *
+     * @param string
+     * @param vocabulary
+     * @return the set of shingles of this string
+     * @throws NullPointerException if string or vocabulary is null.
+     */
+    public final ShingleSet getShingleSet(
+            final CharSequence string, final ShingleVocabulary vocabulary) {
+        if (vocabulary == null) {
+            throw new NullPointerException("vocabulary must not be null");
+        }
+
+        return getShingleSet(getShingleProfile(string), vocabulary);
+    }
+
+    /**
+     * Compute the set of the distinct shingles of a precomputed profile,
+     * encoded as the ids assigned by vocabulary. Shingles that are not in
+     * the vocabulary yet are added to it, unless the vocabulary is frozen.
+     *
+     * @param profile
+     * @param vocabulary
+     * @return the set of shingles of this profile
+     * @throws NullPointerException if profile or vocabulary is null.
+     * @throws IllegalArgumentException if profile was computed with another
+     * value of k.
+     */
+    public final ShingleSet getShingleSet(
+            final ShingleProfile profile, final ShingleVocabulary vocabulary) {
+        checkProfiles(profile, profile);
+        if (vocabulary == null) {
+            throw new NullPointerException("vocabulary must not be null");
+        }
+
+        final long[] keys = profile.keys();
+        int[] ids = new int[keys.length];
+        int known = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int id = vocabulary.getOrAdd(keys[i]);
+            if (id >= 0) {
+                ids[known++] = id;
+            }
+        }
+
+        if (known < keys.length) {
+            ids = Arrays.copyOf(ids, known);
+        }
+        Arrays.sort(ids);
+        return new ShingleSet(k, vocabulary, ids, keys.length);
+    }
+
+    /**
+     * Check that both profiles were computed with the same k as this
+     * instance.
+     * @param profile1
+     * @param profile2
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    final void checkProfiles(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        if (profile1 == null) {
+            throw new NullPointerException("profile1 must not be null");
+        }
+
+        if (profile2 == null) {
+            throw new NullPointerException("profile2 must not be null");
+        }
+
+        if (profile1.getK() != k || profile2.getK() != k) {
+            throw new IllegalArgumentException(
+                    "Profiles must be computed with k = " + k);
+        }
+    }
+
+    /**
+     * Check that both sets were computed with the same k as this instance,
+     * and the same vocabulary.
+     * @param set1
+     * @param set2
+     * @throws NullPointerException if set1 or set2 is null.
+     * @throws IllegalArgumentException if a set was computed with another
+     * value of k, or the sets use different vocabularies.
+     */
+    final void checkSets(final ShingleSet set1, final ShingleSet set2) {
+        if (set1 == null) {
+            throw new NullPointerException("set1 must not be null");
+        }
+
+        if (set2 == null) {
+            throw new NullPointerException("set2 must not be null");
+        }
+
+        if (set1.getK() != k || set2.getK() != k) {
+            throw new IllegalArgumentException(
+                    "Sets must be computed with k = " + k);
+        }
+
+        if (set1.getVocabulary() != set2.getVocabulary()) {
+            throw new IllegalArgumentException(
+                    "Sets must be computed with the same vocabulary");
+        }
+    }
+
+    /**
+     * Check that the profiles of store were computed with the same k as this
+     * instance.
+     * @param store
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles were computed with
+     * another value of k.
+     */
+    final void checkStore(final ProfileStore store) {
+        if (store == null) {
+            throw new NullPointerException("store must not be null");
+        }
+
+        if (store.getK() != k) {
+            throw new IllegalArgumentException(
+                    "Profiles must be computed with k = " + k);
+        }
+    }
+
+    /**
+     * Finalizer of MurmurHash3, to spread the bits of the rolling hash. It is
+     * a bijection, so it does not add collisions.
+     */
+    static long mix(final long h) {
+        long x = h;
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
 }
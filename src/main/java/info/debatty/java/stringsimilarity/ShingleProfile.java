@@ -0,0 +1,218 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Profile of a string: the number of occurrences of each k-shingle, encoded
+ * with primitive arrays.
+ *
+ * Each shingle is encoded as a 64-bit key. For k &lt;= 4, the characters of
+ * the shingle are packed in the key (16 bits per character), so the encoding
+ * is exact. For larger k, the key is a 64-bit rolling hash of the shingle:
+ * two different shingles may then have the same key, but the probability is
+ * negligible (about n^2 / 2^65 for n distinct shingles).
+ *
+ * Keys are sorted, so the intersection or union of two profiles is computed
+ * by merging the arrays, without hashing and without allocating memory. The
+ * norm of the profile is computed once, when the profile is created.
+ *
+ * Profiles are immutable, hence they can be computed once and shared between
+ * threads, to compare a string with many others.
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public final class ShingleProfile {
+
+    private final int k;
+    private final long[] keys;
+    private final int[] counts;
+    private final double norm;
+
+    ShingleProfile(final int k, final long[] keys, final int[] counts) {
+        this.k = k;
+        this.keys = keys;
+        this.counts = counts;
+
+        double agg = 0;
+        for (int count : counts) {
+            agg += 1.0 * count * count;
+        }
+        this.norm = Math.sqrt(agg);
+    }
+
+    /**
+     * Return k, the length of the shingles of this profile.
+     * @return the length of the shingles
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Number of distinct shingles.
+     * @return the number of distinct shingles
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Total number of shingles (with repetitions).
+     * @return the sum of the counts
+     */
+    public int getTotalCount() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Key of the i-th shingle, in increasing order of keys.
+     * @param i
+     * @return the key of the i-th shingle
+     */
+    public long getKey(final int i) {
+        return keys[i];
+    }
+
+    /**
+     * Number of occurrences of the i-th shingle.
+     * @param i
+     * @return the number of occurrences of the i-th shingle
+     */
+    public int getCount(final int i) {
+        return counts[i];
+    }
+
+    /**
+     * Sorted keys, which must not be modified.
+     * @return the keys
+     */
+    long[] keys() {
+        return keys;
+    }
+
+    /**
+     * Counts, which must not be modified.
+     * @return the counts
+     */
+    int[] counts() {
+        return counts;
+    }
+
+    /**
+     * Dot product of the vectors of occurrences.
+     * @param other
+     * @return the dot product
+     */
+    double dotProduct(final ShingleProfile other) {
+        final long[] keys2 = other.keys;
+        final int[] counts2 = other.counts;
+        double agg = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < keys2.length) {
+            if (keys[i] < keys2[j]) {
+                i++;
+            } else if (keys[i] > keys2[j]) {
+                j++;
+            } else {
+                agg += 1.0 * counts[i] * counts2[j];
+                i++;
+                j++;
+            }
+        }
+        return agg;
+    }
+
+    /**
+     * Number of distinct shingles that appear in both profiles.
+     * @param other
+     * @return the size of the intersection
+     */
+    int intersection(final ShingleProfile other) {
+        final long[] keys2 = other.keys;
+        int inter = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < keys2.length) {
+            if (keys[i] < keys2[j]) {
+                i++;
+            } else if (keys[i] > keys2[j]) {
+                j++;
+            } else {
+                inter++;
+                i++;
+                j++;
+            }
+        }
+        return inter;
+    }
+
+    /**
+     * L1 norm of the difference of the vectors of occurrences.
+     * @param other
+     * @return the L1 distance
+     */
+    int l1Distance(final ShingleProfile other) {
+        final long[] keys2 = other.keys;
+        final int[] counts2 = other.counts;
+        int agg = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < keys2.length) {
+            if (keys[i] < keys2[j]) {
+                agg += counts[i];
+                i++;
+            } else if (keys[i] > keys2[j]) {
+                agg += counts2[j];
+                j++;
+            } else {
+                agg += Math.abs(counts[i] - counts2[j]);
+                i++;
+                j++;
+            }
+        }
+        for (; i < keys.length; i++) {
+            agg += counts[i];
+        }
+        for (; j < keys2.length; j++) {
+            agg += counts2[j];
+        }
+        return agg;
+    }
+
+    /**
+     * L2 norm of the vector of occurrences: sqrt(Sum_i( v_i²)).
+     * @return the L2 norm
+     */
+    public double getNorm() {
+        return norm;
+    }
+}
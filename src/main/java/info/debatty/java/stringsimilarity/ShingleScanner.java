@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+/**
+ * Rolling computation of the keys of the k-shingles of a stream of
+ * characters (see {@link ShingleProfile#getKey(int)}).
+ *
+ * Characters are fed one at a time, so the input never has to be
+ * materialized. Multiple subsequent white spaces are replaced by a single
+ * space on the fly, like in {@link ShingleBased#getProfile(String)}.
+ * Shingles of at most 4 characters are packed in a long, longer shingles are
+ * hashed with a polynomial rolling hash.
+ *
+ * Instances are mutable and not thread-safe.
+ *
+ * @author Thibault Debatty
+ */
+final class ShingleScanner {
+
+    /**
+     * Shingles of at most PACKED_K characters are packed in a long.
+     */
+    private static final int PACKED_K = 4;
+
+    /**
+     * Multiplier of the rolling hash of longer shingles (odd).
+     */
+    private static final long HASH_BASE = 0x9E3779B97F4A7C15L;
+
+    private final int k;
+    private final boolean packed;
+    private final long mask;
+
+    /**
+     * HASH_BASE^(k - 1), to remove the first character of the window.
+     */
+    private final long first_power;
+
+    /**
+     * Last k characters (circular buffer), only used to hash long shingles.
+     */
+    private final char[] window;
+
+    private long key;
+
+    /**
+     * Number of characters of the current window (at most k), and position
+     * of the oldest one in the circular buffer.
+     */
+    private int filled;
+    private int slot;
+    private boolean previous_space;
+
+    /**
+     * @param k length of the shingles
+     * @param window buffer of at least k characters
+     */
+    ShingleScanner(final int k, final char[] window) {
+        this.k = k;
+        this.window = window;
+        packed = k <= PACKED_K;
+        mask = k == PACKED_K ? ~0L : (1L << (16 * k)) - 1;
+
+        long power = 1;
+        for (int i = 1; i < k; i++) {
+            power *= HASH_BASE;
+        }
+        first_power = power;
+    }
+
+    /**
+     * Feed the next character of the stream.
+     * @param character
+     * @return true if a shingle ends with this character, its key is then
+     *         given by {@link #key()}
+     */
+    boolean next(final char character) {
+        char c = character;
+        if (isSpace(c)) {
+            if (previous_space) {
+                return false;
+            }
+            c = ' ';
+            previous_space = true;
+        } else {
+            previous_space = false;
+        }
+
+        if (packed) {
+            key = ((key << 16) | c) & mask;
+        } else {
+            if (filled == k) {
+                key -= window[slot] * first_power;
+            }
+            key = key * HASH_BASE + c;
+            window[slot] = c;
+            if (++slot == k) {
+                slot = 0;
+            }
+        }
+
+        if (filled < k) {
+            filled++;
+        }
+        return filled == k;
+    }
+
+    /**
+     * Key of the shingle that ends with the last character.
+     * @return the key of the shingle
+     */
+    long key() {
+        return packed ? key : ShingleBased.mix(key);
+    }
+
+    /**
+     * Same characters as \s in regular expressions.
+     */
+    private static boolean isSpace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B'
+                || c == '\f' || c == '\r';
+    }
+}
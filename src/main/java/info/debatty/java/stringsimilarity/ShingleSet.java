@@ -0,0 +1,240 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.Arrays;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Set of the distinct k-shingles of a string, without their number of
+ * occurrences, as required by {@link Jaccard} and {@link SorensenDice}.
+ *
+ * Shingles are mapped to dense ids by a {@link ShingleVocabulary}. Like the
+ * containers of a Roaring bitmap, the set is stored either as a sorted array
+ * of ids, or as a bitmap if the ids are dense enough (at least one id per
+ * 64-bit word on average). The size of the intersection of two sets is then
+ * computed by merging the arrays, by testing the bits of the bitmap, or with
+ * a bitwise AND of the bitmaps. No memory is allocated and no hash is
+ * computed, so short strings are compared in a few tens of nanoseconds.
+ *
+ * If the vocabulary is frozen, the shingles that it does not contain have no
+ * id: they are counted in the size of the set, but are considered different
+ * from all other shingles. The similarity is thus exact as long as one of
+ * the two sets only contains known shingles (for example, if the vocabulary
+ * was built from the records of a corpus, and a query is compared with
+ * these records).
+ *
+ * Sets can only be compared if they were computed with the same k and the
+ * same vocabulary. Sets are immutable, hence they can be computed once and
+ * shared between threads.
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public final class ShingleSet {
+
+    private static final int WORD_SIZE = 64;
+
+    /**
+     * If the size of the smallest array is less than 1 / GALLOP_RATIO of
+     * the largest one, its ids are searched in the largest array instead of
+     * merging them.
+     */
+    private static final int GALLOP_RATIO = 16;
+
+    private final int k;
+    private final ShingleVocabulary vocabulary;
+    private final int size;
+
+    /**
+     * Sorted ids, or null if the set is stored as a bitmap.
+     */
+    private final int[] ids;
+
+    /**
+     * Bitmap of the ids, or null if the set is stored as an array.
+     */
+    private final long[] words;
+
+    /**
+     * @param k
+     * @param vocabulary
+     * @param ids distinct ids, sorted in increasing order (not copied)
+     * @param size number of distinct shingles, including the ones that are
+     *             not in the vocabulary
+     */
+    ShingleSet(final int k, final ShingleVocabulary vocabulary,
+            final int[] ids, final int size) {
+        this.k = k;
+        this.vocabulary = vocabulary;
+        this.size = size;
+
+        int word_count = ids.length == 0
+                ? 0 : ids[ids.length - 1] / WORD_SIZE + 1;
+        if (word_count > 0 && word_count <= ids.length) {
+            long[] bitmap = new long[word_count];
+            for (int id : ids) {
+                bitmap[id / WORD_SIZE] |= 1L << (id % WORD_SIZE);
+            }
+            this.words = bitmap;
+            this.ids = null;
+        } else {
+            this.words = null;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * Return k, the length of the shingles.
+     * @return the length of the shingles
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Return the vocabulary that assigned the ids of the shingles.
+     * @return the vocabulary
+     */
+    public ShingleVocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Number of distinct shingles in the set.
+     * @return the number of shingles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indicates if the shingle with the given id (see
+     * {@link ShingleVocabulary#getId(long)}) is in the set.
+     * @param id
+     * @return true if the shingle is in the set
+     */
+    public boolean contains(final int id) {
+        if (id < 0) {
+            return false;
+        }
+
+        if (words != null) {
+            int word = id / WORD_SIZE;
+            return word < words.length
+                    && (words[word] & (1L << (id % WORD_SIZE))) != 0;
+        }
+
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * Number of shingles that appear in both sets.
+     * @param other
+     * @return the size of the intersection
+     */
+    int intersection(final ShingleSet other) {
+        if (words != null && other.words != null) {
+            return intersection(words, other.words);
+        }
+
+        if (words != null) {
+            return intersection(words, other.ids);
+        }
+
+        if (other.words != null) {
+            return intersection(other.words, ids);
+        }
+
+        if (ids.length < other.ids.length) {
+            return intersection(ids, other.ids);
+        }
+        return intersection(other.ids, ids);
+    }
+
+    /**
+     * Bitwise AND of two bitmaps.
+     */
+    private static int intersection(final long[] words1, final long[] words2) {
+        final int n = Math.min(words1.length, words2.length);
+        int inter = 0;
+        for (int i = 0; i < n; i++) {
+            inter += Long.bitCount(words1[i] & words2[i]);
+        }
+        return inter;
+    }
+
+    /**
+     * Test the bits of the ids of an array.
+     */
+    private static int intersection(final long[] words, final int[] ids) {
+        int inter = 0;
+        for (int id : ids) {
+            int word = id / WORD_SIZE;
+            if (word >= words.length) {
+                // ids are sorted
+                break;
+            }
+            inter += (int) (words[word] >>> (id % WORD_SIZE)) & 1;
+        }
+        return inter;
+    }
+
+    /**
+     * Merge two sorted arrays, where small is not larger than large.
+     */
+    private static int intersection(final int[] small, final int[] large) {
+        int inter = 0;
+        int i = 0;
+        int j = 0;
+
+        if (small.length * GALLOP_RATIO < large.length) {
+            // binary search of each id in the remaining part of large
+            for (; i < small.length && j < large.length; i++) {
+                int position = Arrays.binarySearch(
+                        large, j, large.length, small[i]);
+                if (position >= 0) {
+                    inter++;
+                    j = position + 1;
+                } else {
+                    j = -position - 1;
+                }
+            }
+            return inter;
+        }
+
+        while (i < small.length && j < large.length) {
+            if (small[i] < large[j]) {
+                i++;
+            } else if (small[i] > large[j]) {
+                j++;
+            } else {
+                inter++;
+                i++;
+                j++;
+            }
+        }
+        return inter;
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Dictionary of shingles: assigns a dense integer id (0, 1, 2...) to each
+ * distinct shingle key (see {@link ShingleProfile#getKey(int)}), in order of
+ * first appearance.
+ *
+ * Dense ids are much smaller than the 64-bit keys, so sorted lists of ids can
+ * be compressed efficiently (see {@link ProfileStore}), and sets of ids can
+ * be stored as bitmaps (see {@link ShingleSet}). A vocabulary can be shared
+ * by all the profiles of a corpus, so each distinct shingle is stored only
+ * once.
+ *
+ * The vocabulary is thread-safe. While shingles can be added, all methods
+ * are synchronized. Once {@link #freeze()} has been called, the vocabulary
+ * is read-only, and lookups do not lock anymore: a frozen vocabulary can be
+ * queried concurrently by any number of threads without contention.
+ *
+ * A vocabulary can be saved to a stream, and loaded back, so the ids of a
+ * corpus remain valid between runs:
+ *
+ * <pre>
+ * try (OutputStream out = new FileOutputStream("vocabulary.bin")) {
+ *     vocabulary.save(out);
+ * }
+ *
+ * ShingleVocabulary loaded;
+ * try (InputStream in = new FileInputStream("vocabulary.bin")) {
+ *     loaded = ShingleVocabulary.load(in);
+ * }
+ * loaded.freeze();
+ * </pre>
+ *
+ * @author Thibault Debatty
+ */
+@ThreadSafe
+public final class ShingleVocabulary {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Header of saved vocabularies ("SVOC"), followed by the version.
+     */
+    private static final int MAGIC = 0x53564F43;
+    private static final int VERSION = 1;
+
+    /**
+     * Open-addressing table. A slot is empty if its value is 0, otherwise
+     * value is id + 1.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+
+    /**
+     * Keys, in order of ids.
+     */
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Once set, the fields above are not modified anymore, so they can be
+     * read without locking (reading the volatile flag guarantees that the
+     * last modifications are visible).
+     */
+    private volatile boolean frozen;
+
+    /**
+     * False if the vocabulary is only used by the thread that created it,
+     * see {@link #local()}.
+     */
+    private final boolean shared;
+
+    /**
+     * Create an empty vocabulary.
+     */
+    public ShingleVocabulary() {
+        this(true);
+    }
+
+    private ShingleVocabulary(final boolean shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * A vocabulary that never locks, to be used by a single thread (for
+     * example to count the shingles of a stream).
+     * @return an empty vocabulary
+     */
+    static ShingleVocabulary local() {
+        return new ShingleVocabulary(false);
+    }
+
+    /**
+     * Return the id of key, or -1 if key is not in the vocabulary.
+     * @param key
+     * @return the id of key, or -1
+     */
+    public int getId(final long key) {
+        if (frozen || !shared) {
+            return find(key);
+        }
+
+        synchronized (this) {
+            return find(key);
+        }
+    }
+
+    /**
+     * Return the id of key, assigning the next id if key is not in the
+     * vocabulary yet.
+     * @param key
+     * @return the id of key
+     * @throws IllegalStateException if key is not in the vocabulary and
+     * the vocabulary is frozen.
+     */
+    public int add(final long key) {
+        int id = getOrAdd(key);
+        if (id < 0) {
+            throw new IllegalStateException(
+                    "Cannot add a shingle to a frozen vocabulary");
+        }
+        return id;
+    }
+
+    /**
+     * Key of the shingle with the given id.
+     * @param id
+     * @return the key
+     * @throws IndexOutOfBoundsException if there is no such id
+     */
+    public long getKey(final int id) {
+        if (frozen || !shared) {
+            return keyOf(id);
+        }
+
+        synchronized (this) {
+            return keyOf(id);
+        }
+    }
+
+    /**
+     * Number of shingles in the vocabulary.
+     * @return the number of shingles
+     */
+    public int size() {
+        if (frozen || !shared) {
+            return size;
+        }
+
+        synchronized (this) {
+            return size;
+        }
+    }
+
+    /**
+     * Make the vocabulary read-only: shingles cannot be added anymore, and
+     * lookups do not lock anymore. Freezing a frozen vocabulary has no
+     * effect.
+     */
+    public synchronized void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Indicates if the vocabulary is read-only (see {@link #freeze()}).
+     * @return true if the vocabulary is frozen
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Write the keys of the vocabulary, in order of ids, to out. The stream
+     * is flushed, but not closed.
+     * @param out
+     * @throws IOException if out throws an IOException
+     */
+    public void save(final OutputStream out) throws IOException {
+        DataOutputStream data =
+                new DataOutputStream(new BufferedOutputStream(out));
+
+        // copy the keys, so no lock is held while writing
+        long[] copy;
+        int count;
+        synchronized (this) {
+            count = size;
+            copy = Arrays.copyOf(ids, count);
+        }
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(count);
+        for (int id = 0; id < count; id++) {
+            data.writeLong(copy[id]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Read a vocabulary written by {@link #save(OutputStream)}. The ids of
+     * the shingles are preserved. The returned vocabulary is not frozen.
+     * The stream is not closed.
+     * @param in
+     * @return the vocabulary
+     * @throws IOException if in throws an IOException, or does not contain
+     * a vocabulary.
+     */
+    public static ShingleVocabulary load(final InputStream in)
+            throws IOException {
+        DataInputStream data =
+                new DataInputStream(new BufferedInputStream(in));
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Stream does not contain a vocabulary");
+        }
+
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported vocabulary version " + version);
+        }
+
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid vocabulary size " + count);
+        }
+
+        ShingleVocabulary vocabulary = new ShingleVocabulary();
+        for (int id = 0; id < count; id++) {
+            long key = data.readLong();
+            if (vocabulary.add(key) != id) {
+                throw new IOException("Duplicate shingle in vocabulary");
+            }
+        }
+        return vocabulary;
+    }
+
+    /**
+     * Return the id of key, assigning the next id if key is not in the
+     * vocabulary yet and the vocabulary is not frozen.
+     * @param key
+     * @return the id of key, or -1 if key is not in the frozen vocabulary
+     */
+    int getOrAdd(final long key) {
+        if (frozen) {
+            return find(key);
+        }
+
+        if (!shared) {
+            int id = find(key);
+            return id >= 0 ? id : insert(key);
+        }
+
+        synchronized (this) {
+            int id = find(key);
+            if (id >= 0 || frozen) {
+                return id;
+            }
+            return insert(key);
+        }
+    }
+
+    private int find(final long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int insert(final long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int id = size++;
+        ids[id] = key;
+        keys[slot] = key;
+        values[slot] = id + 1;
+
+        if (2 * size > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return id;
+    }
+
+    private long keyOf(final int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No shingle with id " + id);
+        }
+        return ids[id];
+    }
+
+    private void rehash(final int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(ids[id]) & mask;
+            while (values[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = ids[id];
+            values[slot] = id + 1;
+        }
+    }
+
+    private static int hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
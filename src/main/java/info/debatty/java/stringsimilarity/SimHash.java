@@ -0,0 +1,293 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringDistance;
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+import net.jcip.annotations.Immutable;
+
+/**
+ * SimHash (Charikar, "Similarity estimation techniques from rounding
+ * algorithms", 2002) estimates the cosine similarity of the k-shingle
+ * profiles of two strings from 64 or 128-bit fingerprints.
+ *
+ * Each shingle is hashed to a random vector of +1 and -1 (the bits of its
+ * hash). Bit j of the fingerprint is the sign of the sum of the j-th
+ * components of these vectors, weighted by the number of occurrences of the
+ * shingles. The probability that two fingerprints differ on a given bit is
+ * theta / pi, where theta is the angle between the profiles, hence the
+ * cosine similarity is estimated as cos(pi . hamming / bits).
+ *
+ * Fingerprints are long[] of 1 (64 bits) or 2 (128 bits) words, and are
+ * compared with a few popcount instructions. Fingerprints can only be
+ * compared if they were computed by instances with the same k and number of
+ * bits.
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public class SimHash extends ShingleBased implements
+        NormalizedStringDistance, NormalizedStringSimilarity {
+
+    private static final int WORD_SIZE = 64;
+
+    /**
+     * Xored with the key of a shingle to get the bits of its second word.
+     */
+    private static final long SECOND_WORD = 0x6A09E667F3BCC909L;
+
+    private final int bits;
+
+    /**
+     * Copy of k: ShingleBased is not serializable, so k is restored from
+     * this field when the instance is deserialized (see readResolve).
+     */
+    private final int shingle_length;
+
+    /**
+     * Fingerprints of 64 or 128 bits, computed with the k-shingles of the
+     * strings.
+     *
+     * @param k length of the shingles
+     * @param bits size of the fingerprints (64 or 128)
+     * @throws IllegalArgumentException if k is &lt;= 0, or bits is neither 64
+     * nor 128.
+     */
+    public SimHash(final int k, final int bits) {
+        super(k);
+        if (bits != WORD_SIZE && bits != 2 * WORD_SIZE) {
+            throw new IllegalArgumentException("bits should be 64 or 128!");
+        }
+        this.bits = bits;
+        this.shingle_length = k;
+    }
+
+    /**
+     * Fingerprints of 64 bits, computed with the k-shingles of the strings.
+     *
+     * @param k length of the shingles
+     * @throws IllegalArgumentException if k is &lt;= 0
+     */
+    public SimHash(final int k) {
+        this(k, WORD_SIZE);
+    }
+
+    /**
+     * Fingerprints of 64 bits, computed with the 3-shingles of the strings.
+     */
+    public SimHash() {
+        super();
+        this.bits = WORD_SIZE;
+        this.shingle_length = getK();
+    }
+
+    /**
+     * Return the size of the fingerprints, in bits.
+     * @return 64 or 128
+     */
+    public final int getBits() {
+        return bits;
+    }
+
+    /**
+     * Compute the fingerprint of s.
+     * @param s
+     * @return the fingerprint of s, as bits / 64 words
+     * @throws NullPointerException if s is null.
+     */
+    public final long[] fingerprint(final String s) {
+        if (s == null) {
+            throw new NullPointerException("s must not be null");
+        }
+
+        return fingerprint(getShingleProfile(s));
+    }
+
+    /**
+     * Compute the fingerprint of a precomputed profile (see
+     * {@link #getShingleProfile(String)}), where each shingle is weighted by
+     * its number of occurrences.
+     *
+     * @param profile
+     * @return the fingerprint of profile, as bits / 64 words
+     * @throws NullPointerException if profile is null.
+     * @throws IllegalArgumentException if profile was computed with another
+     * value of k.
+     */
+    public final long[] fingerprint(final ShingleProfile profile) {
+        checkProfiles(profile, profile);
+
+        final int words = bits / WORD_SIZE;
+        final long[] keys = profile.keys();
+        final int[] counts = profile.counts();
+
+        // weight of the shingles whose hash has bit j set: bit j of the
+        // fingerprint is set if this is more than half of the total weight
+        int[] set = Workspace.get().ints(0, bits);
+        for (int j = 0; j < bits; j++) {
+            set[j] = 0;
+        }
+
+        for (int s = 0; s < keys.length; s++) {
+            final int count = counts[s];
+            for (int w = 0; w < words; w++) {
+                long h = mix(w == 0 ? keys[s] : keys[s] ^ SECOND_WORD);
+                final int offset = w * WORD_SIZE;
+                for (int j = 0; j < WORD_SIZE; j++) {
+                    set[offset + j] += (int) ((h >>> j) & 1L) * count;
+                }
+            }
+        }
+
+        final long total = profile.getTotalCount();
+        long[] fingerprint = new long[words];
+        for (int j = 0; j < bits; j++) {
+            if (2L * set[j] > total) {
+                fingerprint[j / WORD_SIZE] |= 1L << (j % WORD_SIZE);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Number of bits that differ between two fingerprints.
+     * @param fingerprint1
+     * @param fingerprint2
+     * @return the Hamming distance between the fingerprints
+     * @throws NullPointerException if fingerprint1 or fingerprint2 is null.
+     * @throws IllegalArgumentException if a fingerprint does not have
+     * bits / 64 words.
+     */
+    public final int hammingDistance(
+            final long[] fingerprint1, final long[] fingerprint2) {
+        if (fingerprint1 == null) {
+            throw new NullPointerException("fingerprint1 must not be null");
+        }
+
+        if (fingerprint2 == null) {
+            throw new NullPointerException("fingerprint2 must not be null");
+        }
+
+        final int words = bits / WORD_SIZE;
+        if (fingerprint1.length != words || fingerprint2.length != words) {
+            throw new IllegalArgumentException(
+                    "Fingerprints must have " + bits + " bits");
+        }
+
+        int distance = 0;
+        for (int w = 0; w < words; w++) {
+            distance += Long.bitCount(fingerprint1[w] ^ fingerprint2[w]);
+        }
+        return distance;
+    }
+
+    /**
+     * Estimate the cosine similarity of the shingles of s1 and s2.
+     *
+     * As for Cosine, the similarity is 0 if one of the strings has no
+     * shingle (is shorter than k), and is not equal to the other string.
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return The estimated cosine similarity in the range [0, 1]
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public final double similarity(final String s1, final String s2) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
+        }
+
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
+        }
+
+        if (s1.equals(s2)) {
+            return 1;
+        }
+
+        ShingleProfile profile1 = getShingleProfile(s1);
+        ShingleProfile profile2 = getShingleProfile(s2);
+        if (profile1.size() == 0 || profile2.size() == 0) {
+            return 0;
+        }
+
+        return similarity(fingerprint(profile1), fingerprint(profile2));
+    }
+
+    /**
+     * Estimate the cosine similarity from two fingerprints, as
+     * cos(pi . hamming / bits). The profiles have no negative component, so
+     * their cosine similarity is never negative: estimations below 0 are
+     * rounded to 0. The fingerprint of an empty profile is 0, which cannot
+     * be told apart from other fingerprints: use similarity(String, String)
+     * to get 0 for strings shorter than k.
+     * @param fingerprint1
+     * @param fingerprint2
+     * @return The estimated cosine similarity in the range [0, 1]
+     * @throws NullPointerException if fingerprint1 or fingerprint2 is null.
+     * @throws IllegalArgumentException if a fingerprint does not have
+     * bits / 64 words.
+     */
+    public final double similarity(
+            final long[] fingerprint1, final long[] fingerprint2) {
+        int hamming = hammingDistance(fingerprint1, fingerprint2);
+        return Math.max(0.0, Math.cos(Math.PI * hamming / bits));
+    }
+
+    /**
+     * Distance is computed as 1 - estimated similarity.
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return 1 - the estimated cosine similarity.
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public final double distance(final String s1, final String s2) {
+        return 1.0 - similarity(s1, s2);
+    }
+
+    /**
+     * Distance is computed as 1 - estimated similarity, from two
+     * fingerprints.
+     * @param fingerprint1
+     * @param fingerprint2
+     * @return 1 - the estimated cosine similarity.
+     * @throws NullPointerException if fingerprint1 or fingerprint2 is null.
+     * @throws IllegalArgumentException if a fingerprint does not have
+     * bits / 64 words.
+     */
+    public final double distance(
+            final long[] fingerprint1, final long[] fingerprint2) {
+        return 1.0 - similarity(fingerprint1, fingerprint2);
+    }
+
+    /**
+     * ShingleBased is not serializable, so a deserialized instance gets the
+     * default k: rebuild it with the actual k.
+     */
+    private Object readResolve() {
+        return new SimHash(shingle_length, bits);
+    }
+}
@@ -25,9 +25,6 @@ package info.debatty.java.stringsimilarity;
 
 import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
 import info.debatty.java.stringsimilarity.interfaces.NormalizedStringDistance;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
 import net.jcip.annotations.Immutable;
 
@@ -91,20 +88,25 @@ public class SorensenDice extends ShingleBased implements
             return 1;
         }
 
-        Map<String, Integer> profile1 = getProfile(s1);
-        Map<String, Integer> profile2 = getProfile(s2);
-
-        Set<String> union = new HashSet<String>();
-        union.addAll(profile1.keySet());
-        union.addAll(profile2.keySet());
+        return similarity(getShingleProfile(s1), getShingleProfile(s2));
+    }
 
-        int inter = 0;
+    /**
+     * Similarity is computed as 2 * |A inter B| / (|A| + |B|), using
+     * precomputed profiles (see {@link #getShingleProfile(String)}).
+     *
+     * @param profile1
+     * @param profile2
+     * @return The computed Sorensen-Dice similarity.
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double similarity(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        checkProfiles(profile1, profile2);
 
-        for (String key : union) {
-            if (profile1.containsKey(key) && profile2.containsKey(key)) {
-                inter++;
-            }
-        }
+        int inter = profile1.intersection(profile2);
 
         return 2.0 * inter / (profile1.size() + profile2.size());
     }
@@ -121,4 +123,92 @@ public class SorensenDice extends ShingleBased implements
     public final double distance(final String s1, final String s2) {
         return 1 - similarity(s1, s2);
     }
+
+    /**
+     * Returns 1 - similarity, using precomputed profiles.
+     *
+     * @param profile1
+     * @param profile2
+     * @return 1.0 - the computed similarity
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double distance(
+            final ShingleProfile profile1, final ShingleProfile profile2) {
+        return 1 - similarity(profile1, profile2);
+    }
+
+    /**
+     * Similarity is computed as 2 * |A inter B| / (|A| + |B|), for two
+     * records of a {@link ProfileStore}.
+     *
+     * @param store
+     * @param record1 index of the first record in store
+     * @param record2 index of the second record in store
+     * @return The computed Sorensen-Dice similarity.
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles of store were
+     * computed with another value of k.
+     * @throws IndexOutOfBoundsException if a record does not exist.
+     */
+    public final double similarity(
+            final ProfileStore store, final int record1, final int record2) {
+        checkStore(store);
+
+        int inter = store.intersection(record1, record2);
+
+        return 2.0 * inter / (store.size(record1) + store.size(record2));
+    }
+
+    /**
+     * Returns 1 - similarity, for two records of a {@link ProfileStore}.
+     *
+     * @param store
+     * @param record1 index of the first record in store
+     * @param record2 index of the second record in store
+     * @return 1.0 - the computed similarity
+     * @throws NullPointerException if store is null.
+     * @throws IllegalArgumentException if the profiles of store were
+     * computed with another value of k.
+     * @throws IndexOutOfBoundsException if a record does not exist.
+     */
+    public final double distance(
+            final ProfileStore store, final int record1, final int record2) {
+        return 1 - similarity(store, record1, record2);
+    }
+
+    /**
+     * Compute Sorensen-Dice similarity between precomputed sets of shingles (see
+     * {@link #getShingleSet(CharSequence, ShingleVocabulary)}).
+     * @param set1
+     * @param set2
+     * @return The computed Sorensen-Dice similarity.
+     * @throws NullPointerException if set1 or set2 is null.
+     * @throws IllegalArgumentException if a set was computed with another
+     * value of k, or the sets use different vocabularies.
+     */
+    public final double similarity(
+            final ShingleSet set1, final ShingleSet set2) {
+        checkSets(set1, set2);
+
+        int inter = set1.intersection(set2);
+
+        return 2.0 * inter / (set1.size() + set2.size());
+    }
+
+    /**
+     * Distance is computed as 1 - similarity, using precomputed sets of
+     * shingles.
+     * @param set1
+     * @param set2
+     * @return 1.0 - the computed similarity
+     * @throws NullPointerException if set1 or set2 is null.
+     * @throws IllegalArgumentException if a set was computed with another
+     * value of k, or the sets use different vocabularies.
+     */
+    public final double distance(
+            final ShingleSet set1, final ShingleSet set2) {
+        return 1 - similarity(set1, set2);
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringDistance;
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Cosine similarity between vectors of k-shingles weighted by TF-IDF: the
+ * number of occurrences of each shingle in the string (term frequency)
+ * multiplied by its inverse document frequency in a corpus (see
+ * {@link IdfModel}). Shingles that appear in most documents of the corpus
+ * thus have less influence than rare, discriminative shingles.
+ *
+ * To compare a string with many others, the weighted vectors can be
+ * precomputed with {@link #getWeightedProfile(CharSequence)}. They are
+ * normalized, so the similarity is a single dot product.
+ *
+ * <pre>
+ * TfIdfCosine cosine = new TfIdfCosine(model);
+ * WeightedProfile query = cosine.getWeightedProfile("My first string");
+ * for (WeightedProfile candidate : candidates) {
+ *     double similarity = cosine.similarity(query, candidate);
+ * }
+ * </pre>
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public class TfIdfCosine extends ShingleBased implements
+        NormalizedStringDistance, NormalizedStringSimilarity {
+
+    private final IdfModel model;
+
+    /**
+     * Cosine similarity weighted by the IDF of model. The length of the
+     * shingles is the one of model.
+     * @param model
+     * @throws NullPointerException if model is null.
+     */
+    public TfIdfCosine(final IdfModel model) {
+        super(checkModel(model).getK());
+        this.model = model;
+    }
+
+    /**
+     * Return the IDF model.
+     * @return the IDF model
+     */
+    public final IdfModel getModel() {
+        return model;
+    }
+
+    /**
+     * Compute the normalized TF-IDF vector of s.
+     * @param s
+     * @return the weighted profile of s
+     * @throws NullPointerException if s is null.
+     */
+    public final WeightedProfile getWeightedProfile(final CharSequence s) {
+        if (s == null) {
+            throw new NullPointerException("s must not be null");
+        }
+
+        return getWeightedProfile(getShingleProfile(s));
+    }
+
+    /**
+     * Compute the normalized TF-IDF vector of a precomputed profile (see
+     * {@link #getShingleProfile(String)}).
+     * @param profile
+     * @return the weighted profile
+     * @throws NullPointerException if profile is null.
+     * @throws IllegalArgumentException if profile was computed with another
+     * value of k.
+     */
+    public final WeightedProfile getWeightedProfile(
+            final ShingleProfile profile) {
+        checkProfiles(profile, profile);
+
+        float[] weights = new float[profile.size()];
+        model.weigh(profile, weights);
+
+        double agg = 0;
+        for (float weight : weights) {
+            agg += (double) weight * weight;
+        }
+
+        if (agg > 0) {
+            double norm = Math.sqrt(agg);
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = (float) (weights[i] / norm);
+            }
+        }
+
+        return new WeightedProfile(getK(), profile.keys(), weights);
+    }
+
+    /**
+     * Compute the TF-IDF weighted cosine similarity between strings.
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return The cosine similarity in the range [0, 1]
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public final double similarity(final String s1, final String s2) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
+        }
+
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
+        }
+
+        if (s1.equals(s2)) {
+            return 1;
+        }
+
+        return similarity(getWeightedProfile(s1), getWeightedProfile(s2));
+    }
+
+    /**
+     * Compute the cosine similarity between precomputed weighted profiles.
+     * Strings that have no shingle (shorter than k) have a similarity of 0
+     * with all strings.
+     * @param profile1
+     * @param profile2
+     * @return The cosine similarity in the range [0, 1]
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double similarity(
+            final WeightedProfile profile1, final WeightedProfile profile2) {
+        if (profile1 == null) {
+            throw new NullPointerException("profile1 must not be null");
+        }
+
+        if (profile2 == null) {
+            throw new NullPointerException("profile2 must not be null");
+        }
+
+        if (profile1.getK() != getK() || profile2.getK() != getK()) {
+            throw new IllegalArgumentException(
+                    "Profiles must be computed with k = " + getK());
+        }
+
+        // rounding of the float weights may slightly exceed 1
+        return Math.min(1.0, profile1.dotProduct(profile2));
+    }
+
+    /**
+     * Return 1.0 - similarity.
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return 1.0 - the cosine similarity in the range [0, 1]
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    @Override
+    public final double distance(final String s1, final String s2) {
+        return 1.0 - similarity(s1, s2);
+    }
+
+    /**
+     * Return 1.0 - similarity, using precomputed weighted profiles.
+     * @param profile1
+     * @param profile2
+     * @return 1.0 - the cosine similarity in the range [0, 1]
+     * @throws NullPointerException if profile1 or profile2 is null.
+     * @throws IllegalArgumentException if a profile was computed with another
+     * value of k.
+     */
+    public final double distance(
+            final WeightedProfile profile1, final WeightedProfile profile2) {
+        return 1.0 - similarity(profile1, profile2);
+    }
+
+    /**
+     * ShingleBased is not serializable, so a deserialized instance gets the
+     * default k: rebuild it from the model, which holds the actual k.
+     */
+    private Object readResolve() {
+        return new TfIdfCosine(model);
+    }
+
+    private static IdfModel checkModel(final IdfModel model) {
+        if (model == null) {
+            throw new NullPointerException("model must not be null");
+        }
+        return model;
+    }
+}
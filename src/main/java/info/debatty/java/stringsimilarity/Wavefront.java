@@ -0,0 +1,339 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Parallel version of the blocked bit-parallel algorithms, for very long
+ * strings.
+ *
+ * The dynamic programming matrix is split in tiles of BAND_WORDS 64-bit words
+ * of the pattern by CHUNK characters of the text. A tile only depends on the
+ * tile above it (the carries of the horizontal deltas, one byte per column of
+ * text) and on the tile to its left (the vertical deltas of the band, which
+ * are updated in place). Tiles are thus processed along anti-diagonal
+ * wavefronts: each tile is submitted to the ForkJoinPool as soon as both its
+ * predecessors are done.
+ *
+ * The tiles compute exactly the same bit vectors as the sequential
+ * implementation in {@link BitParallel}, so the results are identical.
+ *
+ * @author Thibault Debatty
+ */
+abstract class Wavefront {
+
+    /**
+     * Height of a tile, in 64-bit words of the pattern.
+     */
+    static final int BAND_WORDS = 32;
+
+    /**
+     * Width of a tile, in characters of the text.
+     */
+    static final int CHUNK = 4096;
+
+    /**
+     * Indicates if the matrix is large enough for the parallel computation
+     * to be worth it: at least 2 tiles in each direction.
+     * @param pattern_length
+     * @param text_length
+     * @return true if the parallel computation should be used
+     */
+    static boolean isWorthIt(final int pattern_length, final int text_length) {
+        return pattern_length >= 2 * BAND_WORDS * PatternMasks.WORD_SIZE
+                && text_length >= 2 * CHUNK;
+    }
+
+    /**
+     * Levenshtein distance between pattern[from_pattern .. to_pattern[ and
+     * text[from_text .. to_text[.
+     * @return the distance
+     */
+    static int levenshtein(
+            final ForkJoinPool pool,
+            final String pattern, final int from_pattern, final int to_pattern,
+            final String text, final int from_text, final int to_text) {
+
+        LevenshteinTiles tiles = new LevenshteinTiles(
+                new PatternMasks().reset(pattern, from_pattern, to_pattern),
+                text, from_text, to_text);
+        tiles.run(pool);
+        return tiles.score;
+    }
+
+    /**
+     * Length of the longest common subsequence of
+     * pattern[from_pattern .. to_pattern[ and text[from_text .. to_text[.
+     * @return the length of the LCS
+     */
+    static int lcs(
+            final ForkJoinPool pool,
+            final String pattern, final int from_pattern, final int to_pattern,
+            final String text, final int from_text, final int to_text) {
+
+        LcsTiles tiles = new LcsTiles(
+                new PatternMasks().reset(pattern, from_pattern, to_pattern),
+                text, from_text, to_text);
+        tiles.run(pool);
+
+        int length = 0;
+        for (int w = 0; w < tiles.words; w++) {
+            length += Long.bitCount(~tiles.v[w]);
+        }
+        return length;
+    }
+
+    final PatternMasks peq;
+    final long[] masks;
+    final int words;
+
+    /**
+     * Offset of the masks of each character of the text, or -1.
+     */
+    final int[] offsets;
+
+    /**
+     * Carries that leave the last word of a band, for each column of text.
+     */
+    final byte[] carries;
+
+    private final int bands;
+    private final int chunks;
+    private final AtomicIntegerArray pending;
+
+    Wavefront(
+            final PatternMasks peq,
+            final String text, final int from, final int to) {
+
+        this.peq = peq;
+        this.masks = peq.masks();
+        this.words = peq.words();
+
+        this.offsets = new int[to - from];
+        for (int j = 0; j < offsets.length; j++) {
+            offsets[j] = peq.offset(text.charAt(from + j));
+        }
+        this.carries = new byte[offsets.length];
+
+        this.bands = (words + BAND_WORDS - 1) / BAND_WORDS;
+        this.chunks = (offsets.length + CHUNK - 1) / CHUNK;
+
+        // number of predecessors of each tile that are not done yet
+        this.pending = new AtomicIntegerArray(bands * chunks);
+        for (int band = 0; band < bands; band++) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int predecessors = 0;
+                if (band > 0) {
+                    predecessors++;
+                }
+                if (chunk > 0) {
+                    predecessors++;
+                }
+                pending.set(band * chunks + chunk, predecessors);
+            }
+        }
+    }
+
+    /**
+     * Process words [w0 .. w1[ of the pattern, for columns [j0 .. j1[ of the
+     * text.
+     */
+    abstract void tile(int w0, int w1, int j0, int j1);
+
+    /**
+     * Process all the tiles, using the threads of pool.
+     * @param pool
+     */
+    final void run(final ForkJoinPool pool) {
+        pool.invoke(new Tile(null, 0, 0));
+    }
+
+    /**
+     * Process a tile, then submit the successors whose predecessors are all
+     * done. The root tile completes when all the tiles are done.
+     */
+    private final class Tile extends CountedCompleter<Void> {
+
+        private final int band;
+        private final int chunk;
+
+        Tile(final CountedCompleter<?> completer,
+                final int band, final int chunk) {
+            super(completer);
+            this.band = band;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public void compute() {
+            tile(band * BAND_WORDS,
+                    Math.min(words, (band + 1) * BAND_WORDS),
+                    chunk * CHUNK,
+                    Math.min(offsets.length, (chunk + 1) * CHUNK));
+
+            if (chunk + 1 < chunks) {
+                release(band, chunk + 1);
+            }
+
+            if (band + 1 < bands) {
+                release(band + 1, chunk);
+            }
+
+            tryComplete();
+        }
+
+        private void release(final int next_band, final int next_chunk) {
+            if (pending.decrementAndGet(next_band * chunks + next_chunk) == 0) {
+                addToPendingCount(1);
+                new Tile(this, next_band, next_chunk).fork();
+            }
+        }
+    }
+
+    /**
+     * Tiles of the Levenshtein algorithm (see
+     * {@link BitParallel#levenshtein}).
+     */
+    private static final class LevenshteinTiles extends Wavefront {
+
+        private final long[] vp;
+        private final long[] vn;
+        private final long last;
+
+        // D[m][j], only updated by the tiles of the last band, in order
+        private int score;
+
+        LevenshteinTiles(
+                final PatternMasks peq,
+                final String text, final int from, final int to) {
+            super(peq, text, from, to);
+
+            vp = new long[words];
+            vn = new long[words];
+            for (int w = 0; w < words; w++) {
+                vp[w] = ~0L;
+            }
+            last = 1L << ((peq.length() - 1) % PatternMasks.WORD_SIZE);
+            score = peq.length();
+        }
+
+        @Override
+        void tile(final int w0, final int w1, final int j0, final int j1) {
+
+            for (int j = j0; j < j1; j++) {
+                int offset = offsets[j];
+
+                // the first row of the matrix increases by one per column
+                long hp_carry = 1L;
+                long hn_carry = 0L;
+                if (w0 > 0) {
+                    hp_carry = carries[j] & 1L;
+                    hn_carry = (carries[j] >> 1) & 1L;
+                }
+
+                for (int w = w0; w < w1; w++) {
+                    long eq = 0L;
+                    if (offset >= 0) {
+                        eq = masks[offset + w];
+                    }
+
+                    long x = eq | hn_carry;
+                    long d0 = (((x & vp[w]) + vp[w]) ^ vp[w]) | x | vn[w];
+                    long hp = vn[w] | ~(d0 | vp[w]);
+                    long hn = d0 & vp[w];
+
+                    if (w == words - 1) {
+                        if ((hp & last) != 0) {
+                            score++;
+                        } else if ((hn & last) != 0) {
+                            score--;
+                        }
+                    }
+
+                    long hp_carry_in = hp_carry;
+                    long hn_carry_in = hn_carry;
+                    hp_carry = hp >>> (PatternMasks.WORD_SIZE - 1);
+                    hn_carry = hn >>> (PatternMasks.WORD_SIZE - 1);
+
+                    hp = (hp << 1) | hp_carry_in;
+                    hn = (hn << 1) | hn_carry_in;
+                    vp[w] = hn | ~(d0 | hp);
+                    vn[w] = hp & d0;
+                }
+
+                carries[j] = (byte) (hp_carry | (hn_carry << 1));
+            }
+        }
+    }
+
+    /**
+     * Tiles of the LCS algorithm (see {@link BitParallel#lcs}).
+     */
+    private static final class LcsTiles extends Wavefront {
+
+        private final long[] v;
+
+        LcsTiles(
+                final PatternMasks peq,
+                final String text, final int from, final int to) {
+            super(peq, text, from, to);
+
+            v = new long[words];
+            for (int w = 0; w < words; w++) {
+                v[w] = ~0L;
+            }
+        }
+
+        @Override
+        void tile(final int w0, final int w1, final int j0, final int j1) {
+
+            for (int j = j0; j < j1; j++) {
+                int offset = offsets[j];
+                if (offset < 0) {
+                    // no match: v is unchanged, and no carry is produced
+                    continue;
+                }
+
+                long carry = 0L;
+                if (w0 > 0) {
+                    carry = carries[j];
+                }
+
+                for (int w = w0; w < w1; w++) {
+                    long vw = v[w];
+                    long u = vw & masks[offset + w];
+                    long sum = vw + u + carry;
+                    carry = ((vw & u) | ((vw | u) & ~sum))
+                            >>> (PatternMasks.WORD_SIZE - 1);
+                    v[w] = sum | (vw - u);
+                }
+
+                carries[j] = (byte) carry;
+            }
+        }
+    }
+}
@@ -101,29 +101,46 @@ public class WeightedLevenshtein implements StringDistance {
             return 0;
         }
 
-        if (s1.length() == 0) {
-            return s2.length();
+        // With unit insertion and deletion costs, the common prefix and
+        // suffix can be skipped: an alignment that does not match two equal
+        // first characters pays 1 to delete (or insert) one of them, which
+        // is never cheaper than matching them and deleting the character the
+        // other one was aligned with. This does not hold anymore with custom
+        // insertion and deletion costs.
+        int prefix = 0;
+        int suffix = 0;
+        if (charchange == null) {
+            prefix = Affixes.prefix(s1, s2);
+            suffix = Affixes.suffix(s1, s2, prefix);
+        }
+        final int n = s1.length() - prefix - suffix;
+        final int m = s2.length() - prefix - suffix;
+
+        // As for the dynamic programming, the result is not capped at limit
+        if (n == 0) {
+            return m;
         }
 
-        if (s2.length() == 0) {
-            return s1.length();
+        if (m == 0) {
+            return n;
         }
 
-        // create two work vectors of floating point (i.e. weighted) distances
-        double[] v0 = new double[s2.length() + 1];
-        double[] v1 = new double[s2.length() + 1];
+        // borrow two work vectors of floating point (i.e. weighted) distances
+        Workspace ws = Workspace.get();
+        double[] v0 = ws.doubles(0, m + 1);
+        double[] v1 = ws.doubles(1, m + 1);
         double[] vtemp;
 
         // initialize v0 (the previous row of distances)
         // this row is A[0][i]: edit distance for an empty s1
         // the distance is the cost of inserting each character of s2
         v0[0] = 0;
-        for (int i = 1; i < v0.length; i++) {
-            v0[i] = v0[i - 1] + insertionCost(s2.charAt(i - 1));
+        for (int i = 1; i <= m; i++) {
+            v0[i] = v0[i - 1] + insertionCost(s2.charAt(prefix + i - 1));
         }
 
-        for (int i = 0; i < s1.length(); i++) {
-            char s1i = s1.charAt(i);
+        for (int i = 0; i < n; i++) {
+            char s1i = s1.charAt(prefix + i);
             double deletion_cost = deletionCost(s1i);
 
             // calculate v1 (current row distances) from the previous row v0
@@ -135,8 +152,8 @@ public class WeightedLevenshtein implements StringDistance {
             double minv1 = v1[0];
 
             // use formula to fill in the rest of the row
-            for (int j = 0; j < s2.length(); j++) {
-                char s2j = s2.charAt(j);
+            for (int j = 0; j < m; j++) {
+                char s2j = s2.charAt(prefix + j);
                 double cost = 0;
                 if (s1i != s2j) {
                     cost = charsub.cost(s1i, s2j);
@@ -164,10 +181,54 @@ public class WeightedLevenshtein implements StringDistance {
 
         }
 
-        return v0[s2.length()];
+        return v0[m];
     }
 
 
+    /**
+     * Compute an optimal alignment of s1 and s2: the insertions, deletions,
+     * substitutions and matches that transform s1 into s2 with the minimal
+     * total cost.
+     *
+     * The alignment is computed with the divide and conquer algorithm of
+     * Hirschberg (1975), which requires O(n.m) time but only O(m) space.
+     *
+     * @param s1 The first string to compare.
+     * @param s2 The second string to compare.
+     * @return the alignment, whose cost is the weighted Levenshtein distance.
+     * @throws NullPointerException if s1 or s2 is null.
+     */
+    public final Alignment align(final String s1, final String s2) {
+        if (s1 == null) {
+            throw new NullPointerException("s1 must not be null");
+        }
+
+        if (s2 == null) {
+            throw new NullPointerException("s2 must not be null");
+        }
+
+        Hirschberg.Costs costs = new Hirschberg.Costs() {
+            @Override
+            public double insertion(final char c) {
+                return insertionCost(c);
+            }
+
+            @Override
+            public double deletion(final char c) {
+                return deletionCost(c);
+            }
+
+            @Override
+            public double substitution(final char c1, final char c2) {
+                return charsub.cost(c1, c2);
+            }
+        };
+
+        // as for distance, affixes can only be skipped with unit insertion
+        // and deletion costs
+        return new Hirschberg(costs, s1, s2).align(charchange == null);
+    }
+
     private double insertionCost(final char c) {
         if (charchange == null) {
             return 1.0;
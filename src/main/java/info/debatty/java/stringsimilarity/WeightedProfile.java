@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Sparse vector of the TF-IDF weights of the k-shingles of a string,
+ * normalized to unit length (see {@link TfIdfCosine}).
+ *
+ * Like {@link ShingleProfile}, shingles are encoded as 64-bit keys, sorted in
+ * increasing order, so the cosine similarity of two vectors is the dot
+ * product of their weights, computed by merging the keys.
+ *
+ * @author Thibault Debatty
+ */
+@Immutable
+public final class WeightedProfile {
+
+    private final int k;
+    private final long[] keys;
+    private final float[] weights;
+
+    /**
+     * @param k
+     * @param keys sorted keys (not copied)
+     * @param weights weights of the keys, normalized (not copied)
+     */
+    WeightedProfile(final int k, final long[] keys, final float[] weights) {
+        this.k = k;
+        this.keys = keys;
+        this.weights = weights;
+    }
+
+    /**
+     * Return k, the length of the shingles.
+     * @return the length of the shingles
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Number of distinct shingles.
+     * @return the number of shingles
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Key of the i-th shingle (in increasing order of keys).
+     * @param i
+     * @return the key of the shingle
+     */
+    public long getKey(final int i) {
+        return keys[i];
+    }
+
+    /**
+     * Normalized weight of the i-th shingle.
+     * @param i
+     * @return the weight of the shingle
+     */
+    public float getWeight(final int i) {
+        return weights[i];
+    }
+
+    /**
+     * Dot product of the weights.
+     * @param other
+     * @return the dot product
+     */
+    double dotProduct(final WeightedProfile other) {
+        final long[] keys2 = other.keys;
+        final float[] weights2 = other.weights;
+        double agg = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < keys2.length) {
+            if (keys[i] < keys2[j]) {
+                i++;
+            } else if (keys[i] > keys2[j]) {
+                j++;
+            } else {
+                agg += (double) weights[i] * weights2[j];
+                i++;
+                j++;
+            }
+        }
+        return agg;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+/**
+ * Per-thread work buffers of the dynamic programming algorithms.
+ *
+ * The distance classes are immutable and may be shared between threads, so
+ * they cannot hold work vectors themselves. Instead, they borrow them from
+ * the workspace of the current thread. Buffers only grow when a longer
+ * string is seen, so once the steady state is reached computing a distance
+ * does not allocate memory anymore.
+ *
+ * Buffers larger than MAX_RETAINED elements are not kept, to avoid holding
+ * large amounts of memory after comparing a few very long strings.
+ *
+ * The content of the returned buffers is undefined: callers must initialize
+ * the cells they read. A buffer is only valid until the next call to the
+ * same slot, hence it must not be held while calling another distance.
+ *
+ * @author Thibault Debatty
+ */
+final class Workspace {
+
+    static final int MAX_RETAINED = 1 << 20;
+
+    private static final int SLOTS = 5;
+
+    private static final ThreadLocal<Workspace> LOCAL =
+            new ThreadLocal<Workspace>() {
+                @Override
+                protected Workspace initialValue() {
+                    return new Workspace();
+                }
+            };
+
+    private final int[][] ints = new int[SLOTS][];
+    private final long[][] longs = new long[SLOTS][];
+    private final float[][] floats = new float[SLOTS][];
+    private final double[][] doubles = new double[SLOTS][];
+    private final char[][] chars = new char[SLOTS][];
+    private PatternMasks masks = new PatternMasks();
+    private final CharIndex index = new CharIndex();
+
+    private Workspace() {
+    }
+
+    /**
+     * Workspace of the current thread.
+     * @return the workspace of the current thread
+     */
+    static Workspace get() {
+        return LOCAL.get();
+    }
+
+    /**
+     * An int buffer of at least size elements.
+     * @param slot
+     * @param size
+     * @return the buffer
+     */
+    int[] ints(final int slot, final int size) {
+        int[] buffer = ints[slot];
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+
+        buffer = new int[grow(buffer == null ? 0 : buffer.length, size)];
+        if (size <= MAX_RETAINED) {
+            ints[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * A long buffer of at least size elements.
+     * @param slot
+     * @param size
+     * @return the buffer
+     */
+    long[] longs(final int slot, final int size) {
+        long[] buffer = longs[slot];
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+
+        buffer = new long[grow(buffer == null ? 0 : buffer.length, size)];
+        if (size <= MAX_RETAINED) {
+            longs[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * A float buffer of at least size elements.
+     * @param slot
+     * @param size
+     * @return the buffer
+     */
+    float[] floats(final int slot, final int size) {
+        float[] buffer = floats[slot];
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+
+        buffer = new float[grow(buffer == null ? 0 : buffer.length, size)];
+        if (size <= MAX_RETAINED) {
+            floats[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * A double buffer of at least size elements.
+     * @param slot
+     * @param size
+     * @return the buffer
+     */
+    double[] doubles(final int slot, final int size) {
+        double[] buffer = doubles[slot];
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+
+        buffer = new double[grow(buffer == null ? 0 : buffer.length, size)];
+        if (size <= MAX_RETAINED) {
+            doubles[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * A char buffer of at least size elements.
+     * @param slot
+     * @param size
+     * @return the buffer
+     */
+    char[] chars(final int slot, final int size) {
+        char[] buffer = chars[slot];
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+
+        buffer = new char[grow(buffer == null ? 0 : buffer.length, size)];
+        if (size <= MAX_RETAINED) {
+            chars[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Pattern masks, to be reset by the caller.
+     * @return the pattern masks
+     */
+    PatternMasks masks() {
+        if (masks.capacity() > MAX_RETAINED) {
+            masks = new PatternMasks();
+        }
+        return masks;
+    }
+
+    /**
+     * An empty character index.
+     * @return the character index
+     */
+    CharIndex index() {
+        index.clear();
+        return index;
+    }
+
+    /**
+     * Grow by at least 50% to avoid reallocating for every slightly longer
+     * string, but never beyond what will be retained.
+     */
+    private static int grow(final int current, final int size) {
+        if (size > MAX_RETAINED) {
+            return size;
+        }
+        return Math.max(size, Math.min(MAX_RETAINED, current + current / 2));
+    }
+}
@@ -33,15 +33,7 @@ public class Main {
 			words.add(s);
 			num ++;
 		}
-		DoubleArrayTrie dat = new DoubleArrayTrie();
-		
-		for(String word: words)
-		{
-			dat.Insert(word);
-			
-			//System.out.println(word);
-			//dat.Debug(26);
-		}
+		DoubleArrayTrie dat = DoubleArrayTrie.Build(words);
 		
 		System.out.println(dat.Base.length);
 		System.out.println(dat.Tail.length);
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity.trie;
+
+import java.util.Arrays;
+
+/*
+ * Codes of the characters of a trie, from 1 to Size().
+ *
+ * The table has two levels, indexed by the high and the low byte of the
+ * character, so the code of a character is found with two array reads and
+ * no boxing. Only the pages of 256 characters that contain characters of the
+ * trie are allocated: a Chinese dictionary uses a few dozen pages, instead
+ * of a 64K direct table. Code 0 means that the character is not in the
+ * table, and looking a character up never adds it.
+ */
+final class CharCodes
+{
+	private static final int[] EMPTY = new int[256];
+	
+	private final int[][] Pages = new int[256][];
+	private char[] Chars = new char[64];
+	private int Size = 0;
+	
+	CharCodes()
+	{
+		Arrays.fill(Pages, EMPTY);
+	}
+	
+	//independent copy of this table
+	CharCodes Copy()
+	{
+		CharCodes copy = new CharCodes();
+		for(int i=0; i<Pages.length; ++i)
+		{
+			if(Pages[i] != EMPTY) copy.Pages[i] = Pages[i].clone();
+		}
+		copy.Chars = Arrays.copyOf(Chars, Size+1);
+		copy.Size = Size;
+		return copy;
+	}
+	
+	//code of c, or 0 if c is not in the table
+	int Get(char c)
+	{
+		return Pages[c >>> 8][c & 0xFF];
+	}
+	
+	//code of c, which gets the next code if it is not in the table yet
+	int Add(char c)
+	{
+		int code = Get(c);
+		if(code != 0) return code;
+		
+		int[] page = Pages[c >>> 8];
+		if(page == EMPTY)
+		{
+			page = new int[256];
+			Pages[c >>> 8] = page;
+		}
+		code = ++Size;
+		page[c & 0xFF] = code;
+		if(code >= Chars.length) Chars = Arrays.copyOf(Chars, Chars.length*2);
+		Chars[code] = c;
+		return code;
+	}
+	
+	//character of code, from 1 to Size()
+	char Char(int code)
+	{
+		return Chars[code];
+	}
+	
+	int Size()
+	{
+		return Size;
+	}
+}
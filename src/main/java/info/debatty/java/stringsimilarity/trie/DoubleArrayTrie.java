@@ -8,33 +8,44 @@ package info.debatty.java.stringsimilarity.trie;/*
  */
 
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Arrays;
 
 
+//Not thread safe, not even for lookups while another thread inserts words:
+//share a ReadOnlyDoubleArrayTrie (see Freeze and SharedDoubleArrayTrie)
+//between threads instead.
 public class DoubleArrayTrie {
 	final char END_CHAR = '\0';
 	final int DEFAULT_LEN = 1024;
+	static final int SAVE_BLOCK = 1 << 16;
 	public int Base[]  = new int [DEFAULT_LEN];
 	public int Check[] = new int [DEFAULT_LEN];
 	public char Tail[] = new char [DEFAULT_LEN];
 	int Pos = 1;
-	Map<Character ,Integer> CharMap = new HashMap<Character,Integer>();
-	ArrayList<Character> CharList = new ArrayList<Character>();
+	CharCodes Codes = new CharCodes();
+	
+	//children of each node, for FindFuzzy and Save: the children of p are
+	//Children[ChildStart[p] .. ChildStart[p+1][ (null until needed)
+	int[] ChildStart;
+	int[] Children;
+	ReadOnlyDoubleArrayTrie View;
 	
 	public DoubleArrayTrie()
 	{
 		Base[1] = 1;
 		
-		CharMap.put(END_CHAR,1);
-		CharList.add(END_CHAR);
-		CharList.add(END_CHAR);
+		Codes.Add(END_CHAR);
 		for(int i=0;i<26;++i)
 		{
-			CharMap.put((char)('a'+i),CharMap.size()+1);
-			CharList.add((char)('a'+i));
+			Codes.Add((char)('a'+i));
 		}
 		
 	}
@@ -49,14 +60,11 @@ public class DoubleArrayTrie {
 		Tail = Arrays.copyOf(Tail, Tail.length*2);
 	}
 	
+	//code of c, which is added to the alphabet if needed: only for the
+	//methods that add words, lookups use Codes.Get
 	private int GetCharCode(char c)
 	{
-		if (!CharMap.containsKey(c))
-		{
-			CharMap.put(c,CharMap.size()+1);
-			CharList.add(c);
-		}
-		return CharMap.get(c);
+		return Codes.Add(c);
 	}
 	private int CopyToTailArray(String s,int p)
 	{
@@ -95,7 +103,7 @@ public class DoubleArrayTrie {
 	private ArrayList<Integer> GetChildList(int p)
 	{
 		ArrayList<Integer> ret = new ArrayList<Integer>();
-		for(int i=1; i<=CharMap.size();++i)
+		for(int i=1; i<=Codes.Size();++i)
 		{
 			if(Base[p]+i >= Check.length) break;
 			if(Check[Base[p]+i] == p)
@@ -106,29 +114,31 @@ public class DoubleArrayTrie {
 		return ret;
 	}
 	
-	private boolean TailContainString(int start,String s2)
+	//Tail from start begins with s2[from..]
+	private boolean TailContainString(int start,String s2,int from)
 	{
-		for(int i=0;i<s2.length();++i)
+		for(int i=from;i<s2.length();++i)
 		{
-			if(s2.charAt(i) != Tail[i+start]) return false;
+			char c = Tail[start+i-from];
+			if(c == END_CHAR || c != s2.charAt(i)) return false;
 		}
 		
 		return true;
 	}
-	private boolean TailMatchString(int start,String s2)
+	//Tail from start is s2[from..]
+	private boolean TailMatchString(int start,String s2,int from)
 	{
-		s2 += END_CHAR;
-		for(int i=0;i<s2.length();++i)
-		{
-			if(s2.charAt(i) != Tail[i+start]) return false;
-		}
-		return true;
+		return TailContainString(start, s2, from)
+				&& Tail[start+s2.length()-from] == END_CHAR;
 	}
 	
 	
 	public void Insert(String s) throws Exception
 	{
 		s += END_CHAR;
+		ChildStart = null;
+		Children = null;
+		View = null;
 		
 		int pre_p = 1;
 		int cur_p;
@@ -254,24 +264,186 @@ public class DoubleArrayTrie {
 		}
 	}
 	
+	//Build a trie from words in one pass, instead of inserting them one by one.
+	//The words are sorted (which is cheap if they already are) and duplicates
+	//are dropped, so the words starting with a given prefix form a contiguous
+	//range. The empty word is kept, like with Insert(""). The nodes are then
+	//placed breadth first: the base of a node is the first position where all
+	//its children fit, found by scanning a bitmap of the used cells from the
+	//first free cell.
+	//The result can be queried and extended with Insert like any other trie.
+	public static DoubleArrayTrie Build(Collection<String> words)
+	{
+		String[] sorted = words.toArray(new String[words.size()]);
+		Arrays.sort(sorted);
+		int n = 0;
+		for(int i=0; i<sorted.length; ++i)
+		{
+			if(n > 0 && sorted[i].equals(sorted[n-1])) continue;
+			sorted[n++] = sorted[i];
+		}
+		
+		DoubleArrayTrie trie = new DoubleArrayTrie();
+		if(n > 0) trie.Build(sorted, n);
+		return trie;
+	}
+	
+	//Node queue of Build: node, first word, end of the words, depth
+	private void Build(String[] words, int n)
+	{
+		BitSet used = new BitSet();
+		used.set(0, 2);
+		int first_free = 2;
+		int max_base = 1;
+		
+		int[] queue = new int[64];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = 1;
+		queue[tail++] = 0;
+		queue[tail++] = n;
+		queue[tail++] = 0;
+		
+		int[] codes = new int[16];
+		int[] starts = new int[17];
+		
+		while(head < tail)
+		{
+			int p = queue[head++];
+			int lo = queue[head++];
+			int hi = queue[head++];
+			int depth = queue[head++];
+			
+			//one child per distinct character at depth, END first for the
+			//word that ends here (if any) as it sorts before its extensions
+			int k = 0;
+			int min_code = Integer.MAX_VALUE;
+			for(int i=lo; i<hi; )
+			{
+				int j = i+1;
+				int code;
+				if(words[i].length() == depth)
+				{
+					code = GetCharCode(END_CHAR);
+				}
+				else
+				{
+					char c = words[i].charAt(depth);
+					code = GetCharCode(c);
+					while(j < hi && words[j].charAt(depth) == c) ++j;
+				}
+				
+				if(k == codes.length)
+				{
+					codes = Arrays.copyOf(codes, k*2);
+					starts = Arrays.copyOf(starts, k*2+1);
+				}
+				codes[k] = code;
+				starts[k] = i;
+				min_code = Math.min(min_code, code);
+				k++;
+				i = j;
+			}
+			starts[k] = hi;
+			
+			//first base where all the children fit
+			int base;
+			for(int q = used.nextClearBit(Math.max(first_free, min_code+1)); ; q = used.nextClearBit(q+1))
+			{
+				base = q-min_code;
+				boolean fits = true;
+				for(int i=0; i<k; ++i)
+				{
+					if(used.get(base+codes[i]))
+					{
+						fits = false;
+						break;
+					}
+				}
+				if(fits) break;
+			}
+			
+			Base[p] = base;
+			max_base = Math.max(max_base, base);
+			for(int i=0; i<k; ++i)
+			{
+				int cur_p = base+codes[i];
+				used.set(cur_p);
+				while(cur_p >= Base.length) Extend_Array();
+				Check[cur_p] = p;
+			}
+			first_free = used.nextClearBit(first_free);
+			
+			for(int i=0; i<k; ++i)
+			{
+				int cur_p = base+codes[i];
+				int from = starts[i];
+				int to = starts[i+1];
+				
+				if(words[from].length() == depth)
+				{
+					//END node
+					Base[cur_p] = 0;
+				}
+				else if(to-from == 1)
+				{
+					//a single word: the rest of it goes to Tail
+					Base[cur_p] = -Pos;
+					AppendToTail(words[from], depth+1);
+				}
+				else
+				{
+					if(tail+4 > queue.length) queue = Arrays.copyOf(queue, queue.length*2);
+					queue[tail++] = cur_p;
+					queue[tail++] = from;
+					queue[tail++] = to;
+					queue[tail++] = depth+1;
+				}
+			}
+		}
+		
+		//leave room for the children of the last base, so lookups do not
+		//run past the end of the arrays
+		while(max_base+Codes.Size() >= Base.length) Extend_Array();
+	}
+	
+	//Copy s[p..] and END_CHAR at Pos in Tail
+	private void AppendToTail(String s, int p)
+	{
+		while(s.length()-p+1 > Tail.length-Pos)
+		{
+			Extend_Tail();
+		}
+		for(int i=p; i<s.length(); ++i)
+		{
+			Tail[Pos++] = s.charAt(i);
+		}
+		Tail[Pos++] = END_CHAR;
+	}
+	
 	public boolean Exists(String word)
 	{
 		int pre_p = 1;
-		int cur_p = 0;
+		//the empty word ends at the root, if it was inserted
+		int cur_p = pre_p;
 		
 		for(int i=0;i<word.length();++i)
 		{
-			cur_p = Base[pre_p]+GetCharCode(word.charAt(i));
-			if(Check[cur_p] != pre_p) return false;
+			//a character that is not in the alphabet cannot be in the trie
+			int code = Codes.Get(word.charAt(i));
+			if(code == 0) return false;
+			cur_p = Base[pre_p]+code;
+			if(cur_p >= Check.length || Check[cur_p] != pre_p) return false;
 			if(Base[cur_p] < 0)
 			{
-				if(TailMatchString(-Base[cur_p],word.substring(i+1)))
+				if(TailMatchString(-Base[cur_p],word,i+1))
 					return true;
 				return false;
 			}
 			pre_p = cur_p;
 		}
-		if(Check[Base[cur_p]+GetCharCode(END_CHAR)] == cur_p)
+		int end_p = Base[cur_p]+Codes.Get(END_CHAR);
+		if(end_p < Check.length && Check[end_p] == cur_p)
 			return true;
 		return false;
 	}
@@ -291,15 +463,16 @@ public class DoubleArrayTrie {
 		{
 			// BUG
 			fs.prefix += word.charAt(i);
-			cur_p = Base[pre_p]+GetCharCode(word.charAt(i));
-			if(Check[cur_p] != pre_p)
+			int code = Codes.Get(word.charAt(i));
+			cur_p = Base[pre_p]+code;
+			if(code == 0 || cur_p >= Check.length || Check[cur_p] != pre_p)
 			{
 				fs.p = -1;
 				return fs;
 			}
 			if(Base[cur_p] < 0)
 			{
-				if(TailContainString(-Base[cur_p],word.substring(i+1)))
+				if(TailContainString(-Base[cur_p],word,i+1))
 				{
 					fs.p = cur_p;
 					return fs;
@@ -331,13 +504,14 @@ public class DoubleArrayTrie {
 			result.add(r);
 			return result;
 		}
-		for(int i=1;i<=CharMap.size();++i)
+		for(int i=1;i<=Codes.Size();++i)
 		{
+			if(Base[index]+i >= Check.length) break;
 			if(Check[Base[index]+i] == index)
 			{
 				for(String s:GetAllChildWord(Base[index]+i))
 				{
-					result.add(CharList.get(i)+s);
+					result.add(Codes.Char(i)+s);
 				}
 				//result.addAll(GetAllChildWord(Base[index]+i));
 			}
@@ -376,4 +550,139 @@ public class DoubleArrayTrie {
 		return result;
 	}
 	
+	//A word of the trie, and its Levenshtein distance to the query of FindFuzzy
+	public static class FuzzyMatch
+	{
+		public final String word;
+		public final int distance;
+		
+		FuzzyMatch(String word, int distance)
+		{
+			this.word = word;
+			this.distance = distance;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return word + ":" + distance;
+		}
+	}
+	
+	//Counting sort of the nodes by parent (Check), so the children of a node
+	//can be listed without trying all the characters of the alphabet
+	private void BuildChildIndex()
+	{
+		int n = Check.length;
+		int[] start = new int[n+1];
+		for(int i=0; i<n; ++i)
+		{
+			if(Check[i] > 0) start[Check[i]+1]++;
+		}
+		for(int i=0; i<n; ++i)
+		{
+			start[i+1] += start[i];
+		}
+		
+		int[] children = new int[start[n]];
+		int[] next = Arrays.copyOf(start, n);
+		for(int i=0; i<n; ++i)
+		{
+			if(Check[i] > 0) children[next[Check[i]]++] = i;
+		}
+		
+		Children = children;
+		ChildStart = start;
+	}
+	
+	//Find the words whose Levenshtein distance to word is at most max_distance,
+	//sorted by increasing distance (see ReadOnlyDoubleArrayTrie.FindFuzzy)
+	public ArrayList<FuzzyMatch> FindFuzzy(String word, int max_distance)
+	{
+		return View().FindFuzzy(word, max_distance);
+	}
+	
+	//Read only view of the current arrays, dropped by Insert
+	private ReadOnlyDoubleArrayTrie View()
+	{
+		if(View == null)
+		{
+			if(ChildStart == null) BuildChildIndex();
+			View = new ReadOnlyDoubleArrayTrie(IntBuffer.wrap(Base),
+					IntBuffer.wrap(Check), IntBuffer.wrap(ChildStart),
+					IntBuffer.wrap(Children), CharBuffer.wrap(Tail), Codes);
+		}
+		return View;
+	}
+	
+	//Immutable copy of the trie, which any number of threads can query
+	//without locking. Later changes of this trie do not affect the copy.
+	public ReadOnlyDoubleArrayTrie Freeze()
+	{
+		if(ChildStart == null) BuildChildIndex();
+		int cells = UsedCells();
+		return new ReadOnlyDoubleArrayTrie(
+				IntBuffer.wrap(Arrays.copyOf(Base, cells)),
+				IntBuffer.wrap(Arrays.copyOf(Check, cells)),
+				IntBuffer.wrap(Arrays.copyOf(ChildStart, cells+1)),
+				IntBuffer.wrap(Arrays.copyOf(Children, ChildStart[cells])),
+				CharBuffer.wrap(Arrays.copyOf(Tail, Pos)),
+				Codes.Copy());
+	}
+	
+	//number of cells up to the last used one
+	private int UsedCells()
+	{
+		int cells = Check.length;
+		while(cells > 2 && Base[cells-1] == 0 && Check[cells-1] == 0) --cells;
+		return cells;
+	}
+	
+	//Write the trie in the format of ReadOnlyDoubleArrayTrie, which can map
+	//it in memory with ReadOnlyDoubleArrayTrie.Load instead of rebuilding it
+	public void Save(OutputStream out) throws IOException
+	{
+		if(ChildStart == null) BuildChildIndex();
+		int cells = UsedCells();
+		int children = ChildStart[cells];
+		int codes = Codes.Size();
+		
+		//written by blocks, in the byte order of the file
+		ByteBuffer buffer = ByteBuffer.allocate(SAVE_BLOCK).order(ReadOnlyDoubleArrayTrie.ORDER);
+		int[] header = {ReadOnlyDoubleArrayTrie.MAGIC, ReadOnlyDoubleArrayTrie.VERSION,
+				codes, cells, children, Pos};
+		PutInts(buffer, out, header, header.length);
+		PutInts(buffer, out, Base, cells);
+		PutInts(buffer, out, Check, cells);
+		PutInts(buffer, out, ChildStart, cells+1);
+		PutInts(buffer, out, Children, children);
+		for(int i=1; i<=codes; ++i)
+		{
+			if(buffer.remaining() < 2) Flush(buffer, out);
+			buffer.putChar(Codes.Char(i));
+		}
+		for(int i=0; i<Pos; ++i)
+		{
+			if(buffer.remaining() < 2) Flush(buffer, out);
+			buffer.putChar(Tail[i]);
+		}
+		Flush(buffer, out);
+		out.flush();
+	}
+	
+	private static void PutInts(ByteBuffer buffer, OutputStream out, int[] values, int length) throws IOException
+	{
+		for(int i=0; i<length; ++i)
+		{
+			if(buffer.remaining() < 4) Flush(buffer, out);
+			buffer.putInt(values[i]);
+		}
+	}
+	
+	private static void Flush(ByteBuffer buffer, OutputStream out) throws IOException
+	{
+		out.write(buffer.array(), 0, buffer.position());
+		buffer.clear();
+	}
+	
 }
@@ -0,0 +1,438 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity.trie;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import net.jcip.annotations.Immutable;
+
+/*
+ * A DoubleArrayTrie that cannot be modified, whose arrays are read from
+ * buffers: either a copy of the arrays of a DoubleArrayTrie (see
+ * DoubleArrayTrie.Freeze), or a file written by DoubleArrayTrie.Save and
+ * mapped in memory by Load. Lookups only use absolute reads of the buffers
+ * and their own work arrays, so any number of threads can query the same
+ * trie without locking. A mapped trie is not
+ * copied on the heap, so it is ready as soon as the file is mapped, and the
+ * processes that map the same file share the pages of the OS cache.
+ *
+ * File format (little endian, the order of most hosts, so the mapped arrays
+ * are read without swapping bytes):
+ *   int magic ("DATR"), int version,
+ *   int number of character codes n, int number of cells,
+ *   int number of children, int length of Tail,
+ *   int[cells] Base, int[cells] Check,
+ *   int[cells+1] ChildStart, int[children] Children,
+ *   char[n] characters of the codes 1..n, char[] Tail
+ *
+ * ChildStart and Children list the children of each node (see
+ * DoubleArrayTrie.BuildChildIndex), so FindFuzzy and FindAllWords do not
+ * have to try all the characters of the alphabet. *
+ * Exists and FindFuzzy give the same results as the DoubleArrayTrie the
+ * trie was copied from. FindAllWords differs: it returns the whole words
+ * that start with prefix, while DoubleArrayTrie.FindAllWords appends
+ * END_CHAR to the words that are a prefix of other words ("ab\0" for "ab"
+ * when "abc" is in the trie), and may return characters left in Tail by
+ * Insert after such words.
+ */
+@Immutable
+public class ReadOnlyDoubleArrayTrie {
+	static final int MAGIC = 0x44415452;
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+	static final int VERSION = 1;
+	static final int HEADER = 6;
+	static final char END_CHAR = '\0';
+	static final int END_CODE = 1;
+	
+	private final IntBuffer Base;
+	private final IntBuffer Check;
+	private final IntBuffer ChildStart;
+	private final IntBuffer Children;
+	private final CharBuffer Tail;
+	
+	private final CharCodes Codes;
+	
+	ReadOnlyDoubleArrayTrie(IntBuffer base, IntBuffer check,
+			IntBuffer child_start, IntBuffer children, CharBuffer tail,
+			CharCodes codes)
+	{
+		Base = base;
+		Check = check;
+		ChildStart = child_start;
+		Children = children;
+		Tail = tail;
+		Codes = codes;
+	}
+	
+	//Map a file written by DoubleArrayTrie.Save. The file is mapped read
+	//only and may be shared with other processes, it must not be modified
+	//while the trie is in use.
+	public static ReadOnlyDoubleArrayTrie Load(File file) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try
+		{
+			return Load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+		finally
+		{
+			//the mapping remains valid after the channel is closed
+			channel.close();
+		}
+	}
+	
+	//Read a trie written by DoubleArrayTrie.Save from buffer, without
+	//copying its arrays
+	public static ReadOnlyDoubleArrayTrie Load(ByteBuffer buffer) throws IOException
+	{
+		ByteBuffer data = buffer.duplicate().order(ORDER);
+		if(data.remaining() < HEADER*4 || data.getInt(data.position()) != MAGIC)
+		{
+			throw new IOException("Buffer does not contain a DoubleArrayTrie");
+		}
+		IntBuffer header = data.asIntBuffer();
+		int version = header.get(1);
+		if(version != VERSION)
+		{
+			throw new IOException("Unsupported DoubleArrayTrie version " + version);
+		}
+		int codes = header.get(2);
+		int cells = header.get(3);
+		int children = header.get(4);
+		int tail = header.get(5);
+		if(codes < 1 || cells < 2 || children < 0 || tail < 0)
+		{
+			throw new IOException("Invalid DoubleArrayTrie header");
+		}
+		
+		long ints = HEADER + 3L*cells + 1 + children;
+		long size = 4*ints + 2L*codes + 2L*tail;
+		if(size > data.remaining())
+		{
+			throw new IOException("Truncated DoubleArrayTrie: " + size
+					+ " bytes expected, " + data.remaining() + " found");
+		}
+		
+		int offset = HEADER;
+		IntBuffer base = Slice(header, offset, cells);
+		offset += cells;
+		IntBuffer check = Slice(header, offset, cells);
+		offset += cells;
+		IntBuffer child_start = Slice(header, offset, cells+1);
+		offset += cells+1;
+		IntBuffer child_list = Slice(header, offset, children);
+		
+		data.position(data.position() + (int) (4*ints));
+		CharBuffer chars = data.asCharBuffer();
+		CharCodes char_codes = new CharCodes();
+		for(int i=1; i<=codes; ++i)
+		{
+			if(char_codes.Add(chars.get()) != i)
+			{
+				throw new IOException("Duplicate character in DoubleArrayTrie");
+			}
+		}
+		CharBuffer tail_chars = chars.slice();
+		tail_chars.limit(tail);
+		
+		return new ReadOnlyDoubleArrayTrie(base, check, child_start,
+				child_list, tail_chars, char_codes);
+	}
+	
+	private static IntBuffer Slice(IntBuffer buffer, int offset, int length)
+	{
+		IntBuffer copy = buffer.duplicate();
+		copy.position(offset);
+		copy.limit(offset + length);
+		return copy.slice();
+	}
+	
+	//child of p for code, or -1
+	private int Child(int p, int code)
+	{
+		int cur_p = Base.get(p)+code;
+		if(cur_p >= Check.limit() || Check.get(cur_p) != p) return -1;
+		return cur_p;
+	}
+	
+	//Tail from start, up to END_CHAR
+	private String TailString(int start)
+	{
+		StringBuilder sb = new StringBuilder();
+		for(int i=start; Tail.get(i)!=END_CHAR; ++i)
+		{
+			sb.append(Tail.get(i));
+		}
+		return sb.toString();
+	}
+	
+	public boolean Exists(String word)
+	{
+		int p = 1;
+		for(int i=0; i<word.length(); ++i)
+		{
+			int code = Codes.Get(word.charAt(i));
+			if(code == 0 || code == END_CODE) return false;
+			int cur_p = Child(p, code);
+			if(cur_p < 0) return false;
+			
+			int base = Base.get(cur_p);
+			if(base < 0) return TailString(-base).equals(word.substring(i+1));
+			if(base == 0) return false;
+			p = cur_p;
+		}
+		return Child(p, END_CODE) >= 0;
+	}
+	
+	//All the words that start with prefix
+	public ArrayList<String> FindAllWords(String prefix)
+	{
+		ArrayList<String> result = new ArrayList<String>();
+		int p = 1;
+		for(int i=0; i<prefix.length(); ++i)
+		{
+			int code = Codes.Get(prefix.charAt(i));
+			if(code == 0 || code == END_CODE) return result;
+			int cur_p = Child(p, code);
+			if(cur_p < 0) return result;
+			
+			int base = Base.get(cur_p);
+			if(base < 0)
+			{
+				String word = prefix.substring(0, i+1) + TailString(-base);
+				if(word.startsWith(prefix)) result.add(word);
+				return result;
+			}
+			if(base == 0) return result;
+			p = cur_p;
+		}
+		
+		AddAllWords(p, new StringBuilder(prefix), result);
+		return result;
+	}
+	
+	//add the words below node p, whose path is prefix
+	private void AddAllWords(int p, StringBuilder prefix, ArrayList<String> result)
+	{
+		int length = prefix.length();
+		for(int i=ChildStart.get(p); i<ChildStart.get(p+1); ++i)
+		{
+			int cur_p = Children.get(i);
+			int code = cur_p-Base.get(p);
+			if(code == END_CODE)
+			{
+				result.add(prefix.toString());
+				continue;
+			}
+			
+			prefix.append(Codes.Char(code));
+			int base = Base.get(cur_p);
+			if(base > 0)
+			{
+				AddAllWords(cur_p, prefix, result);
+			}
+			else
+			{
+				prefix.append(TailString(-base));
+				result.add(prefix.toString());
+			}
+			prefix.setLength(length);
+		}
+	}
+	
+	//Depth first walk of the trie for FindFuzzy: Rows[d] is the row of the
+	//Levenshtein matrix between the query and the first d characters of Path
+	class FuzzySearch
+	{
+		final String query;
+		final int m;
+		final int max_distance;
+		final ArrayList<DoubleArrayTrie.FuzzyMatch> result;
+		
+		//codes of the distinct characters of the query that are in the trie
+		int[] query_codes;
+		int[][] Rows = new int[16][];
+		char[] Path = new char[16];
+		
+		FuzzySearch(String query, int max_distance, ArrayList<DoubleArrayTrie.FuzzyMatch> result)
+		{
+			this.query = query;
+			this.m = query.length();
+			this.max_distance = max_distance;
+			this.result = result;
+			
+			int[] codes = new int[m];
+			int n = 0;
+			for(int i=0; i<m; ++i)
+			{
+				int code = Codes.Get(query.charAt(i));
+				if(code == 0 || code == END_CODE) continue;
+				boolean seen = false;
+				for(int j=0; j<n; ++j)
+				{
+					if(codes[j] == code) seen = true;
+				}
+				if(!seen) codes[n++] = code;
+			}
+			query_codes = Arrays.copyOf(codes, n);
+			
+			int[] row = Row(0);
+			for(int j=0; j<=m; ++j) row[j] = j;
+		}
+		
+		private int[] Row(int depth)
+		{
+			if(depth >= Rows.length)
+			{
+				Rows = Arrays.copyOf(Rows, Rows.length*2);
+				Path = Arrays.copyOf(Path, Path.length*2);
+			}
+			if(Rows[depth] == null) Rows[depth] = new int[m+1];
+			return Rows[depth];
+		}
+		
+		//compute Rows[depth+1] for character c (-1 for a character that is
+		//not in the query), and return its minimum
+		private int Next(int depth, int c)
+		{
+			int[] prev = Rows[depth];
+			int[] next = Row(depth+1);
+			next[0] = prev[0]+1;
+			int min = next[0];
+			for(int j=1; j<=m; ++j)
+			{
+				int cost = query.charAt(j-1) == c ? 0 : 1;
+				int v = Math.min(Math.min(prev[j]+1, next[j-1]+1), prev[j-1]+cost);
+				next[j] = v;
+				if(v < min) min = v;
+			}
+			return min;
+		}
+		
+		private void AddMatch(int depth)
+		{
+			int distance = Rows[depth][m];
+			if(distance <= max_distance)
+			{
+				result.add(new DoubleArrayTrie.FuzzyMatch(new String(Path, 0, depth), distance));
+			}
+		}
+		
+		//p is a node with children (Base[p] > 0), reached with Path[0..depth[
+		void Visit(int p, int depth)
+		{
+			int end_p = Child(p, END_CODE);
+			if(end_p >= 0)
+			{
+				AddMatch(depth);
+			}
+			
+			//a character that is not in the query gives the same row whatever
+			//it is: if this row exceeds max_distance, only the characters of
+			//the query have to be tried, instead of all the children
+			if(Next(depth, -1) > max_distance)
+			{
+				for(int i=0; i<query_codes.length; ++i)
+				{
+					int cur_p = Child(p, query_codes[i]);
+					if(cur_p >= 0)
+					{
+						Step(cur_p, Codes.Char(query_codes[i]), depth);
+					}
+				}
+				return;
+			}
+			
+			int base = Base.get(p);
+			for(int i=ChildStart.get(p); i<ChildStart.get(p+1); ++i)
+			{
+				int cur_p = Children.get(i);
+				if(cur_p != end_p)
+				{
+					Step(cur_p, Codes.Char(cur_p-base), depth);
+				}
+			}
+		}
+		
+		//cur_p is the child of the node of Path[0..depth[ for character c
+		private void Step(int cur_p, char c, int depth)
+		{
+			if(Next(depth, c) > max_distance) return;
+			Path[depth] = c;
+			int d = depth+1;
+			
+			int base = Base.get(cur_p);
+			if(base > 0)
+			{
+				Visit(cur_p, d);
+				return;
+			}
+			
+			//the rest of the word is stored in Tail
+			if(base < 0)
+			{
+				for(int i=-base; Tail.get(i)!=END_CHAR; ++i)
+				{
+					char t = Tail.get(i);
+					if(Next(d, t) > max_distance) return;
+					Path[d] = t;
+					d++;
+				}
+			}
+			AddMatch(d);
+		}
+	}
+	
+	//Find the words whose Levenshtein distance to word is at most max_distance,
+	//sorted by increasing distance. The trie is walked depth first while
+	//computing one row of the Levenshtein matrix per node, and the subtrees
+	//whose row minimum exceeds max_distance are pruned.
+	public ArrayList<DoubleArrayTrie.FuzzyMatch> FindFuzzy(String word, int max_distance)
+	{
+		ArrayList<DoubleArrayTrie.FuzzyMatch> result = new ArrayList<DoubleArrayTrie.FuzzyMatch>();
+		if(max_distance < 0) return result;
+		
+		new FuzzySearch(word, max_distance, result).Visit(1, 0);
+		
+		Collections.sort(result, new Comparator<DoubleArrayTrie.FuzzyMatch>()
+		{
+			@Override
+			public int compare(DoubleArrayTrie.FuzzyMatch m1, DoubleArrayTrie.FuzzyMatch m2)
+			{
+				return m1.distance - m2.distance;
+			}
+		});
+		return result;
+	}
+}
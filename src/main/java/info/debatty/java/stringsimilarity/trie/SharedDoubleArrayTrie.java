@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity.trie;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+import net.jcip.annotations.ThreadSafe;
+
+/*
+ * A dictionary shared by many threads, which can be replaced while it is
+ * being queried (read-copy-update).
+ *
+ * Readers get the current ReadOnlyDoubleArrayTrie with one volatile read
+ * and never lock. A request that makes several lookups should call Get once
+ * and use the same snapshot for all of them. Writers build a new trie (with
+ * DoubleArrayTrie.Build and Freeze, or ReadOnlyDoubleArrayTrie.Load) and
+ * Publish it: queries that are running keep the previous snapshot, which is
+ * garbage collected once they are done, and the next ones see the new one.
+ *
+ *   SharedDoubleArrayTrie dictionary = new SharedDoubleArrayTrie(
+ *           DoubleArrayTrie.Build(words).Freeze());
+ *   // request threads
+ *   dictionary.Get().FindFuzzy(query, 2);
+ *   // reload thread
+ *   dictionary.Publish(ReadOnlyDoubleArrayTrie.Load(file));
+ */
+@ThreadSafe
+public class SharedDoubleArrayTrie {
+	private final AtomicReference<ReadOnlyDoubleArrayTrie> Current;
+	
+	public SharedDoubleArrayTrie(ReadOnlyDoubleArrayTrie trie)
+	{
+		if(trie == null)
+		{
+			throw new NullPointerException("trie must not be null");
+		}
+		Current = new AtomicReference<ReadOnlyDoubleArrayTrie>(trie);
+	}
+	
+	//current snapshot
+	public ReadOnlyDoubleArrayTrie Get()
+	{
+		return Current.get();
+	}
+	
+	//Replace the snapshot by trie, and return the previous one
+	public synchronized ReadOnlyDoubleArrayTrie Publish(ReadOnlyDoubleArrayTrie trie)
+	{
+		if(trie == null)
+		{
+			throw new NullPointerException("trie must not be null");
+		}
+		return Current.getAndSet(trie);
+	}
+	
+	//Copy on write: publish a new snapshot with the words of the current one
+	//and words. The trie is rebuilt with DoubleArrayTrie.Build, so this is
+	//meant for batches of words. Writers are serialized (readers are not),
+	//so no word is lost when several threads insert at the same time.
+	public synchronized ReadOnlyDoubleArrayTrie Insert(Collection<String> words)
+	{
+		ArrayList<String> all = Current.get().FindAllWords("");
+		all.addAll(words);
+		ReadOnlyDoubleArrayTrie trie = DoubleArrayTrie.Build(all).Freeze();
+		Current.set(trie);
+		return trie;
+	}
+	
+	public boolean Exists(String word)
+	{
+		return Current.get().Exists(word);
+	}
+	
+	public ArrayList<String> FindAllWords(String prefix)
+	{
+		return Current.get().FindAllWords(prefix);
+	}
+	
+	public ArrayList<DoubleArrayTrie.FuzzyMatch> FindFuzzy(String word, int max_distance)
+	{
+		return Current.get().FindFuzzy(word, max_distance);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class AlignmentTest {
+
+    /**
+     * Test of align method, of class Levenshtein.
+     */
+    @Test
+    public final void testLevenshtein() {
+        System.out.println("align");
+        Alignment alignment = new Levenshtein().align("kitten", "sitting");
+
+        assertEquals(3.0, alignment.getCost(), 0.0);
+        assertEquals(
+                "[SUBSTITUTION(0, 0, 1), MATCH(1, 1, 3), "
+                + "SUBSTITUTION(4, 4, 1), MATCH(5, 5, 1), "
+                + "INSERTION(6, 6, 1)]",
+                alignment.getOperations().toString());
+
+        assertEquals(
+                0, new Levenshtein().align("", "").getOperations().size());
+    }
+
+    /**
+     * Test of align method, of class LongestCommonSubsequence.
+     */
+    @Test
+    public final void testLongestCommonSubsequence() {
+        System.out.println("align");
+        Alignment alignment =
+                new LongestCommonSubsequence().align("AGCAT", "AGCT");
+
+        assertEquals(1.0, alignment.getCost(), 0.0);
+        assertEquals(
+                "[MATCH(0, 0, 3), DELETION(3, 3, 1), MATCH(4, 3, 1)]",
+                alignment.getOperations().toString());
+    }
+
+    /**
+     * Test of align method, of class WeightedLevenshtein.
+     */
+    @Test
+    public final void testWeightedLevenshtein() {
+        System.out.println("align");
+        WeightedLevenshtein instance = new WeightedLevenshtein(
+                new CharacterSubstitutionInterface() {
+                    public double cost(final char c1, final char c2) {
+                        if (c1 == 't' && c2 == 'r') {
+                            return 0.5;
+                        }
+                        return 1.0;
+                    }
+                });
+
+        Alignment alignment = instance.align("String1", "Srring2");
+        assertEquals(1.5, alignment.getCost(), 0.0);
+        assertEquals(
+                "[MATCH(0, 0, 1), SUBSTITUTION(1, 1, 1), MATCH(2, 2, 4), "
+                + "SUBSTITUTION(6, 6, 1)]",
+                alignment.getOperations().toString());
+    }
+
+    /**
+     * Align strings that are too long to be aligned with a single matrix,
+     * and check that the operations actually transform s1 into s2.
+     */
+    @Test
+    public final void testLongStrings() {
+        System.out.println("align");
+        Levenshtein levenshtein = new Levenshtein();
+        Random rand = new Random(98765);
+
+        for (int i = 0; i < 10; i++) {
+            String s1 = LevenshteinTest.randomString(rand, "abc", 600);
+            String s2 = LevenshteinTest.randomString(rand, "abc", 500);
+            Alignment alignment = levenshtein.align(s1, s2);
+
+            assertEquals(
+                    levenshtein.distance(s1, s2), alignment.getCost(), 0.0);
+            assertEquals(s2, apply(s1, s2, alignment));
+        }
+    }
+
+    private static String apply(
+            final String s1, final String s2, final Alignment alignment) {
+        StringBuilder result = new StringBuilder();
+        int position1 = 0;
+        for (EditOperation operation : alignment.getOperations()) {
+            assertEquals(position1, operation.getPosition1());
+            int position2 = operation.getPosition2();
+            switch (operation.getType()) {
+                case DELETION:
+                    position1 += operation.getLength();
+                    break;
+
+                case INSERTION:
+                    result.append(s2, position2,
+                            position2 + operation.getLength());
+                    break;
+
+                default:
+                    result.append(s2, position2,
+                            position2 + operation.getLength());
+                    position1 += operation.getLength();
+                    break;
+            }
+        }
+        assertEquals(s1.length(), position1);
+        return result.toString();
+    }
+}
@@ -104,4 +104,24 @@ public class CosineTest {
         string_builder.deleteCharAt(string_builder.length() - 1);
         return string_builder.toString();
     }
+
+    /**
+     * Test of similarity method with precomputed profiles, of class Cosine.
+     */
+    @Test
+    public final void testSimilarityProfiles() {
+        System.out.println("similarity (profiles)");
+        Cosine instance = new Cosine(2);
+        String s1 = "My first string";
+        String s2 = "My other string...";
+        ShingleProfile profile1 = instance.getShingleProfile(s1);
+        ShingleProfile profile2 = instance.getShingleProfile(s2);
+        assertEquals(
+                instance.similarity(s1, s2),
+                instance.similarity(profile1, profile2), 0.0);
+        assertEquals(
+                instance.similarity(
+                        instance.getProfile(s1), instance.getProfile(s2)),
+                instance.similarity(profile1, profile2), 1E-12);
+    }
 }
@@ -44,6 +44,22 @@ public class DamerauTest {
         assertEquals(1.0, instance.distance("ABCDEF", "ABDCEF"), 0.0);
         assertEquals(2.0, instance.distance("ABCDEF", "BACDFE"), 0.0);
         assertEquals(1.0, instance.distance("ABCDEF", "ABCDE"), 0.0);
+        assertEquals(2.0, instance.distance("CA", "ABC"), 0.0);
+        assertEquals(1.0, instance.distance("\u4e2d\u6587\u5b57", "\u4e2d\u5b57\u6587"), 0.0);
         NullEmptyTests.testDistance(instance);
     }
+
+    /**
+     * Test of distance method with a limit, of class Damerau.
+     */
+    @Test
+    public final void testDistanceWithLimit() {
+        System.out.println("distance with limit");
+        Damerau instance = new Damerau();
+        assertEquals(2.0, instance.distance("ABCDEF", "BACDFE", 3), 0.0);
+        assertEquals(2.0, instance.distance("ABCDEF", "BACDFE", 2), 0.0);
+        assertEquals(1.0, instance.distance("ABCDEF", "BACDFE", 1), 0.0);
+        assertEquals(2.0, instance.distance("ABCDEF", "ABC", 2), 0.0);
+        assertEquals(0.0, instance.distance("ABCDEF", "ABCDEF", 0), 0.0);
+    }
 }
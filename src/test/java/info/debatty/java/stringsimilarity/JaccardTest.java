@@ -68,4 +68,29 @@ public class JaccardTest {
 
         NullEmptyTests.testDistance(instance);
     }
+
+    /**
+     * Test of similarity method with precomputed profiles, of class Jaccard.
+     */
+    @Test
+    public void testSimilarityProfiles() {
+        System.out.println("similarity (profiles)");
+        Jaccard instance = new Jaccard(2);
+        ShingleProfile profile1 = instance.getShingleProfile("ABCDE");
+        ShingleProfile profile2 = instance.getShingleProfile("ABCDF");
+        assertEquals(0.6, instance.similarity(profile1, profile2), 0.0);
+        assertEquals(0.4, instance.distance(profile1, profile2), 0.0);
+    }
+
+    /**
+     * Profiles computed with another k are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testProfilesWithOtherK() {
+        System.out.println("similarity (profiles with other k)");
+        Jaccard instance = new Jaccard(2);
+        instance.similarity(
+                instance.getShingleProfile("ABCDE"),
+                new Jaccard(3).getShingleProfile("ABCDF"));
+    }
 }
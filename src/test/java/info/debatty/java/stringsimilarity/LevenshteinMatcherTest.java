@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.debatty.java.stringsimilarity;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class LevenshteinMatcherTest {
+
+    /**
+     * Test of distance method, of class LevenshteinMatcher.
+     */
+    @Test
+    public final void testDistance() {
+        System.out.println("distance");
+        LevenshteinMatcher matcher = Levenshtein.compile("My string");
+        assertEquals(1, matcher.distance("My tring"));
+        assertEquals(2, matcher.distance("M string2"));
+        assertEquals(1, matcher.distance("My $tring"));
+        assertEquals(0, matcher.distance("My string"));
+        assertEquals(9, matcher.distance(""));
+
+        // With limits.
+        assertEquals(2, matcher.distance("M string2", 4));
+        assertEquals(2, matcher.distance("M string2", 2));
+        assertEquals(1, matcher.distance("M string2", 1));
+
+        assertEquals(3, Levenshtein.compile("").distance("foo"));
+    }
+
+    /**
+     * The matcher is reused for many candidates, and must give the same
+     * results as Levenshtein.
+     */
+    @Test
+    public final void testSameAsLevenshtein() {
+        System.out.println("same as Levenshtein");
+        Levenshtein levenshtein = new Levenshtein();
+        Random rand = new Random(123);
+        String alphabet = "abcdé中";
+
+        for (int query_length : new int[] {3, 64, 100, 300}) {
+            String query = LevenshteinTest.randomString(
+                    rand, alphabet, query_length);
+            LevenshteinMatcher matcher = Levenshtein.compile(query);
+
+            for (int i = 0; i < 50; i++) {
+                String candidate = LevenshteinTest.randomString(
+                        rand, alphabet, rand.nextInt(2 * query_length));
+                int limit = rand.nextInt(10);
+                assertEquals(
+                        levenshtein.distance(query, candidate),
+                        matcher.distance(candidate), 0.0);
+                assertEquals(
+                        levenshtein.distance(query, candidate, limit),
+                        matcher.distance(candidate, limit), 0.0);
+            }
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public final void testNullCandidate() {
+        Levenshtein.compile("foo").distance(null);
+    }
+}
@@ -25,6 +25,8 @@
 package info.debatty.java.stringsimilarity;
 
 import info.debatty.java.stringsimilarity.testutil.NullEmptyTests;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 
@@ -52,4 +54,124 @@ public class LevenshteinTest {
 
         NullEmptyTests.testDistance(instance);
     }
+
+    /**
+     * The bit-parallel implementation must give the same results as the
+     * textbook dynamic programming algorithm, including for strings that
+     * require multiple 64-bit blocks and for characters outside of ASCII.
+     */
+    @Test
+    public final void testDistanceRandom() {
+        System.out.println("distance (random strings)");
+        Levenshtein instance = new Levenshtein();
+        Random rand = new Random(12345);
+        String alphabet = "abcdé中文字";
+        int[] lengths = {1, 5, 63, 64, 65, 127, 128, 129, 200};
+
+        for (int l1 : lengths) {
+            for (int l2 : lengths) {
+                String s1 = randomString(rand, alphabet, l1);
+                String s2 = randomString(rand, alphabet, l2);
+                assertEquals(
+                        dynamicProgramming(s1, s2),
+                        instance.distance(s1, s2), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Test of distance method with a ForkJoinPool, of class Levenshtein.
+     */
+    @Test
+    public final void testDistanceParallel() {
+        System.out.println("distance (parallel)");
+        Levenshtein instance = new Levenshtein();
+        Random rand = new Random(6789);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                String s1 = randomString(rand, "abcd", 5000 + 1000 * i);
+                String s2 = randomString(rand, "abcd", 9000);
+                assertEquals(
+                        instance.distance(s1, s2),
+                        instance.distance(s1, s2, pool), 0.0);
+                assertEquals(
+                        instance.distance(s2, s1),
+                        instance.distance(s2, s1, pool), 0.0);
+            }
+
+            // short strings are processed by the current thread
+            assertEquals(
+                    3.0, instance.distance("kitten", "sitting", pool), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Long strings with a small limit are computed with the banded
+     * algorithm.
+     */
+    @Test
+    public final void testDistanceWithLimit() {
+        System.out.println("distance with limit");
+        Levenshtein instance = new Levenshtein();
+        Random rand = new Random(54321);
+        String s1 = randomString(rand, "abcdefgh", 500);
+        String s2 = s1.substring(0, 100) + "X" + s1.substring(101, 300)
+                + s1.substring(301);
+
+        assertEquals(2.0, instance.distance(s1, s2), 0.0);
+        assertEquals(2.0, instance.distance(s1, s2, 3), 0.0);
+        assertEquals(2.0, instance.distance(s1, s2, 2), 0.0);
+        assertEquals(1.0, instance.distance(s1, s2, 1), 0.0);
+
+        // Lengths differ by more than the limit
+        assertEquals(2.0, instance.distance("a", "abcdef", 2), 0.0);
+        assertEquals(5.0, instance.distance("a", "abcdef", 6), 0.0);
+    }
+
+    static String randomString(
+            final Random rand, final String alphabet, final int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(rand.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    static String mutate(final Random rand, final String s,
+            final String alphabet, final int edits) {
+        StringBuilder builder = new StringBuilder(s);
+        for (int i = 0; i < edits; i++) {
+            builder.setCharAt(rand.nextInt(builder.length()),
+                    alphabet.charAt(rand.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Wagner-Fischer algorithm.
+     */
+    static int dynamicProgramming(final String s1, final String s2) {
+        int[] v0 = new int[s2.length() + 1];
+        int[] v1 = new int[s2.length() + 1];
+        for (int j = 0; j < v0.length; j++) {
+            v0[j] = j;
+        }
+
+        for (int i = 0; i < s1.length(); i++) {
+            v1[0] = i + 1;
+            for (int j = 0; j < s2.length(); j++) {
+                int cost = s1.charAt(i) == s2.charAt(j) ? 0 : 1;
+                v1[j + 1] = Math.min(v1[j] + 1,
+                        Math.min(v0[j + 1] + 1, v0[j] + cost));
+            }
+            int[] tmp = v0;
+            v0 = v1;
+            v1 = tmp;
+        }
+        return v0[s2.length()];
+    }
 }
@@ -24,6 +24,8 @@
 package info.debatty.java.stringsimilarity;
 
 import info.debatty.java.stringsimilarity.testutil.NullEmptyTests;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -48,4 +50,63 @@ public class LongestCommonSubsequenceTest {
 
         NullEmptyTests.testDistance(instance);
     }
+
+    /**
+     * Test of length method, of class LongestCommonSubsequence, with
+     * strings longer than a 64-bit word.
+     */
+    @Test
+    public void testLengthRandom() {
+        System.out.println("length");
+        LongestCommonSubsequence instance = new LongestCommonSubsequence();
+        Random rand = new Random(4242);
+
+        for (int i = 0; i < 200; i++) {
+            String s1 = LevenshteinTest.randomString(
+                    rand, "abcd", rand.nextInt(300));
+            String s2 = LevenshteinTest.randomString(
+                    rand, "abcd", rand.nextInt(300));
+            assertEquals(dynamicProgramming(s1, s2),
+                    instance.length(s1, s2));
+        }
+    }
+
+    /**
+     * Test of length method with a ForkJoinPool, of class
+     * LongestCommonSubsequence.
+     */
+    @Test
+    public void testLengthParallel() {
+        System.out.println("length (parallel)");
+        LongestCommonSubsequence instance = new LongestCommonSubsequence();
+        Random rand = new Random(6789);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            String s1 = LevenshteinTest.randomString(rand, "abcd", 6000);
+            String s2 = LevenshteinTest.randomString(rand, "abcd", 9000);
+            assertEquals(
+                    instance.length(s1, s2),
+                    instance.length(s1, s2, pool));
+            assertEquals(
+                    instance.distance(s2, s1),
+                    instance.distance(s2, s1, pool), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int dynamicProgramming(final String s1, final String s2) {
+        int[][] c = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 1; i <= s1.length(); i++) {
+            for (int j = 1; j <= s2.length(); j++) {
+                if (s1.charAt(i - 1) == s2.charAt(j - 1)) {
+                    c[i][j] = c[i - 1][j - 1] + 1;
+                } else {
+                    c[i][j] = Math.max(c[i][j - 1], c[i - 1][j]);
+                }
+            }
+        }
+        return c[s1.length()][s2.length()];
+    }
 }
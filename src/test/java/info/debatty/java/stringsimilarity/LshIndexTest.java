@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class LshIndexTest {
+
+    /**
+     * Near duplicates are candidates, and candidates are exactly the records
+     * that share a band.
+     */
+    @Test
+    public final void testMinHash() {
+        System.out.println("MinHash");
+        Random random = new Random(1234);
+        String alphabet = "abcdefghij";
+        MinHash minhash = new MinHash(3, 100);
+        LshIndex index = new LshIndex(20, 5);
+
+        int[][] signatures = new int[400][];
+        for (int i = 0; i < signatures.length; i += 2) {
+            String s = LevenshteinTest.randomString(random, alphabet, 300);
+            signatures[i] = minhash.signature(s);
+            signatures[i + 1] = minhash.signature(
+                    LevenshteinTest.mutate(random, s, alphabet, 3));
+        }
+        for (int i = 0; i < signatures.length; i++) {
+            assertEquals(i, index.add(signatures[i]));
+        }
+        assertEquals(signatures.length, index.size());
+
+        long[] pairs = index.candidatePairs();
+        for (int i = 0; i < signatures.length; i += 2) {
+            assertTrue(Arrays.binarySearch(pairs, ((long) i << 32) | (i + 1))
+                    >= 0);
+        }
+
+        List<Long> expected = new ArrayList<Long>();
+        for (int i = 0; i < signatures.length; i++) {
+            List<Integer> candidates = new ArrayList<Integer>();
+            for (int j = 0; j < signatures.length; j++) {
+                if (shareBand(signatures[i], signatures[j], 20, 5)) {
+                    candidates.add(j);
+                    if (i < j) {
+                        expected.add(((long) i << 32) | j);
+                    }
+                }
+            }
+            assertArrayEquals(toArray(candidates),
+                    index.candidates(signatures[i]));
+        }
+
+        assertEquals(expected.size(), pairs.length);
+        for (int i = 0; i < pairs.length; i++) {
+            assertTrue(expected.contains(pairs[i]));
+            if (i > 0) {
+                assertTrue(pairs[i - 1] < pairs[i]);
+            }
+        }
+    }
+
+    /**
+     * Bands of fingerprints are made of bits, and may span two words.
+     */
+    @Test
+    public final void testSimHash() {
+        System.out.println("SimHash");
+        Random random = new Random(1234);
+        LshIndex index = new LshIndex(5, 24);
+
+        long[][] fingerprints = new long[300][];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = new long[] {random.nextLong(), random.nextLong()};
+            if (i % 3 == 1) {
+                // same band 2 (bits 48 to 71) as the previous fingerprint
+                fingerprints[i][0] =
+                        fingerprints[i - 1][0] & 0xFFFF000000000000L
+                        | fingerprints[i][0] & 0x0000FFFFFFFFFFFFL;
+                fingerprints[i][1] = fingerprints[i - 1][1] & 0xFFL
+                        | fingerprints[i][1] & ~0xFFL;
+            }
+            index.add(fingerprints[i]);
+        }
+
+        for (int i = 0; i < fingerprints.length; i++) {
+            int[] candidates = index.candidates(fingerprints[i]);
+            assertTrue(Arrays.binarySearch(candidates, i) >= 0);
+            if (i % 3 == 1) {
+                assertTrue(Arrays.binarySearch(candidates, i - 1) >= 0);
+            }
+        }
+
+        long[] pairs = index.candidatePairs();
+        assertTrue(pairs.length >= 100);
+        for (long pair : pairs) {
+            assertTrue(shareBand(fingerprints[(int) (pair >>> 32)],
+                    fingerprints[(int) pair], 5, 24));
+        }
+    }
+
+    /**
+     * Signatures must be large enough for all bands.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testTooShort() {
+        System.out.println("too short");
+        new LshIndex(20, 5).add(new MinHash(3, 64).signature("ABCD"));
+    }
+
+    /**
+     * The threshold is the similarity where the S-curve is the steepest.
+     */
+    @Test
+    public final void testThreshold() {
+        System.out.println("threshold");
+        assertEquals(0.5493, new LshIndex(20, 5).getThreshold(), 0.0001);
+    }
+
+    private static boolean shareBand(
+            final int[] s1, final int[] s2, final int bands, final int rows) {
+        for (int band = 0; band < bands; band++) {
+            if (Arrays.equals(
+                    Arrays.copyOfRange(s1, band * rows, (band + 1) * rows),
+                    Arrays.copyOfRange(s2, band * rows, (band + 1) * rows))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean shareBand(
+            final long[] f1, final long[] f2, final int bands, final int rows) {
+        for (int band = 0; band < bands; band++) {
+            boolean equal = true;
+            for (int bit = band * rows; bit < (band + 1) * rows; bit++) {
+                if (((f1[bit / 64] ^ f2[bit / 64]) >>> (bit % 64) & 1L) != 0) {
+                    equal = false;
+                }
+            }
+            if (equal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] toArray(final List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+}
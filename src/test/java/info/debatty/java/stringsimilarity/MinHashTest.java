@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class MinHashTest {
+
+    /**
+     * The estimation is close to the exact Jaccard index.
+     */
+    @Test
+    public final void testSimilarity() {
+        System.out.println("similarity");
+        MinHash minhash = new MinHash(3, 512);
+        Jaccard jaccard = new Jaccard(3);
+        Random random = new Random(1234);
+        String alphabet = "abcdefghij";
+
+        double error = 0;
+        int pairs = 0;
+        for (int i = 0; i < 50; i++) {
+            String s1 = LevenshteinTest.randomString(random, alphabet, 200);
+            String s2 = LevenshteinTest.mutate(
+                    random, s1, alphabet, random.nextInt(100));
+            double expected = jaccard.similarity(s1, s2);
+            double estimated = minhash.similarity(s1, s2);
+
+            // standard error is at most 1 / (2.sqrt(512)) = 0.022
+            assertEquals(expected, estimated, 0.1);
+            error += Math.abs(expected - estimated);
+            pairs++;
+        }
+        assertTrue(error / pairs < 0.03);
+
+        assertEquals(1.0, minhash.similarity("ABCDEF", "ABCDEF"), 0.0);
+        assertEquals(0.0, minhash.similarity("ABCDEF", "GHIJKL"), 0.0);
+        assertEquals(1.0, minhash.distance("ABCDEF", "GHIJKL"), 0.0);
+    }
+
+    /**
+     * Signatures only depend on the set of shingles, k, n and the seed.
+     */
+    @Test
+    public final void testSignature() {
+        System.out.println("signature");
+        MinHash minhash = new MinHash(2, 64, 42);
+        int[] signature = minhash.signature("ABCABC");
+        assertEquals(64, signature.length);
+        assertEquals(64, minhash.getSignatureSize());
+
+        // same set of shingles: AB BC CA
+        assertArrayEquals(signature, minhash.signature("CABCAB"));
+        assertArrayEquals(signature, new MinHash(2, 64, 42).signature("ABCAB"));
+        assertArrayEquals(signature,
+                minhash.signature(minhash.getShingleProfile("ABCABC")));
+        assertTrue(minhash.similarity(signature,
+                new MinHash(2, 64, 43).signature("ABCABC")) < 0.5);
+    }
+
+    /**
+     * Strings shorter than k have no shingle, and are not similar to other
+     * strings.
+     */
+    @Test
+    public final void testShortStrings() {
+        System.out.println("short strings");
+        MinHash instance = new MinHash(3, 64);
+        assertTrue(Double.isNaN(instance.similarity("ab", "cd")));
+        assertEquals(0.0, instance.similarity("ab", "abcdef"), 0.0);
+        assertEquals(0.0, instance.similarity("abcdef", "ab"), 0.0);
+        assertEquals(1.0, instance.similarity("ab", "ab"), 0.0);
+    }
+
+    /**
+     * A deserialized instance keeps its k, so its signatures can be compared
+     * with the stored ones.
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    @Test
+    public final void testSerialization()
+            throws IOException, ClassNotFoundException {
+        System.out.println("serialization");
+        MinHash instance = new MinHash(5, 64);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(instance);
+        out.close();
+        MinHash copy = (MinHash) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        assertEquals(5, copy.getK());
+        assertArrayEquals(instance.signature("ABCDEFGHIJ"),
+                copy.signature("ABCDEFGHIJ"));
+        assertEquals(instance.similarity("ABCDEFGHIJ", "ABCDEFGHIK"),
+                copy.similarity("ABCDEFGHIJ", "ABCDEFGHIK"), 0.0);
+    }
+
+    /**
+     * Signatures computed with another n cannot be compared.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testDifferentSize() {
+        System.out.println("different size");
+        MinHash minhash = new MinHash(2, 64);
+        minhash.similarity(
+                minhash.signature("ABCD"), new MinHash(2, 32).signature("ABCD"));
+    }
+}
@@ -26,6 +26,7 @@ package info.debatty.java.stringsimilarity;
 import static org.junit.Assert.assertEquals;
 
 import info.debatty.java.stringsimilarity.testutil.NullEmptyTests;
+import java.util.Random;
 import org.junit.Test;
 
 /**
@@ -57,6 +58,36 @@ public class OptimalStringAlignmentTest {
         assertEquals(4.0, instance.distance("abcde", "awxyz"), 0.0);
         assertEquals(5.0, instance.distance("abcde", "vwxyz"), 0.0);
 
+        //common prefix and suffix
+        assertEquals(1.0, instance.distance("prefixABsuffix", "prefixBAsuffix"), 0.0);
+        assertEquals(1.0, instance.distance("abab", "abba"), 0.0);
+        assertEquals(3.0, instance.distance("xyzCAxyz", "xyzABCxyz"), 0.0);
+
         NullEmptyTests.testDistance(instance);
     }
+
+    /**
+     * Test of distance method with a limit, of class OptimalStringAlignment.
+     */
+    @Test
+    public final void testDistanceWithLimit() {
+        System.out.println("distance with limit");
+        OptimalStringAlignment instance = new OptimalStringAlignment();
+
+        // transpositions at both sides of the 64-bit block boundaries
+        Random rand = new Random(12345);
+        String s1 = LevenshteinTest.randomString(rand, "abcdefgh", 300);
+        String s2 = s1.substring(0, 63) + s1.charAt(64) + s1.charAt(63)
+                + s1.substring(65, 127) + s1.charAt(128) + s1.charAt(127)
+                + s1.substring(129);
+
+        assertEquals(2.0, instance.distance(s1, s2), 0.0);
+        assertEquals(2.0, instance.distance(s1, s2, 3), 0.0);
+        assertEquals(1.0, instance.distance(s1, s2, 1), 0.0);
+        assertEquals(3.0, instance.distance("CA", "ABC", 5), 0.0);
+        assertEquals(2.0, instance.distance("CA", "ABC", 2), 0.0);
+
+        // Lengths differ by more than the limit
+        assertEquals(2.0, instance.distance("a", "abcdef", 2), 0.0);
+    }
 }
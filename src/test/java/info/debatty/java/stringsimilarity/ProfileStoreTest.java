@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class ProfileStoreTest {
+
+    /**
+     * Jaccard and Sorensen-Dice computed on the store are exact.
+     */
+    @Test
+    public final void testExactMetrics() {
+        System.out.println("exact metrics");
+        String[] strings = randomStrings(50, 3);
+        Jaccard jaccard = new Jaccard(3);
+        SorensenDice dice = new SorensenDice(3);
+        QGram qgram = new QGram(3);
+        ProfileStore store = new ProfileStore(3);
+        ShingleProfile[] profiles = new ShingleProfile[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            profiles[i] = jaccard.getShingleProfile(strings[i]);
+            assertEquals(i, store.add(profiles[i]));
+            assertEquals(profiles[i].size(), store.size(i));
+        }
+
+        for (int i = 0; i < strings.length; i++) {
+            for (int j = 0; j < strings.length; j++) {
+                assertEquals(
+                        jaccard.similarity(profiles[i], profiles[j]),
+                        jaccard.similarity(store, i, j), 0.0);
+                assertEquals(
+                        dice.similarity(profiles[i], profiles[j]),
+                        dice.similarity(store, i, j), 0.0);
+
+                // counts below 128 are not quantized
+                assertEquals(
+                        qgram.distance(profiles[i], profiles[j]),
+                        qgram.distance(store, i, j), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Large counts are quantized, with a small relative error.
+     */
+    @Test
+    public final void testQuantizedMetrics() {
+        System.out.println("quantized metrics");
+        String[] strings = randomStrings(20, 2000);
+        Cosine cosine = new Cosine(1);
+        QGram qgram = new QGram(1);
+        ProfileStore store = new ProfileStore(1);
+        ShingleProfile[] profiles = new ShingleProfile[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            profiles[i] = cosine.getShingleProfile(strings[i]);
+            store.add(profiles[i]);
+        }
+
+        for (int i = 0; i < strings.length; i++) {
+            assertEquals(profiles[i].getNorm(), store.getNorm(i),
+                    0.022 * profiles[i].getNorm());
+            for (int j = 0; j < strings.length; j++) {
+                assertEquals(
+                        cosine.similarity(profiles[i], profiles[j]),
+                        cosine.similarity(store, i, j), 0.05);
+                double expected = qgram.distance(profiles[i], profiles[j]);
+                assertEquals(expected, qgram.distance(store, i, j),
+                        0.022 * (strings[i].length() + strings[j].length()));
+            }
+        }
+    }
+
+    /**
+     * Counts beyond the last quantization bucket are stored exactly.
+     */
+    @Test
+    public final void testLargeCounts() {
+        System.out.println("large counts");
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            builder.append('a');
+        }
+        QGram qgram = new QGram(1);
+        ProfileStore store = new ProfileStore(1);
+        store.add(qgram.getShingleProfile(builder.toString()));
+        store.add(qgram.getShingleProfile("b"));
+
+        assertEquals(100000.0, store.getNorm(0), 0.0);
+        assertEquals(100001.0, qgram.distance(store, 0, 1), 0.0);
+    }
+
+    /**
+     * The records of a store can only be compared with a metric that uses
+     * the same value of k.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testDifferentK() {
+        System.out.println("different k");
+        ProfileStore store = new ProfileStore(2);
+        Jaccard jaccard = new Jaccard(2);
+        store.add(jaccard.getShingleProfile("ABCD"));
+        store.add(jaccard.getShingleProfile("ABCE"));
+        new Jaccard(3).similarity(store, 0, 1);
+    }
+
+    private static String[] randomStrings(final int count, final int length) {
+        Random random = new Random(1234);
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder builder = new StringBuilder();
+            int size = 1 + random.nextInt(length);
+            for (int j = 0; j < size * 10; j++) {
+                builder.append((char) ('a' + random.nextInt(4)));
+            }
+            strings[i] = builder.toString();
+        }
+        return strings;
+    }
+}
@@ -65,4 +65,16 @@ public class QGramTest {
 
         NullEmptyTests.assertNullPointerExceptions(instance);
     }
+
+    /**
+     * Test of distance method with precomputed profiles, of class QGram.
+     */
+    @Test
+    public final void testDistanceProfiles() {
+        System.out.println("distance (profiles)");
+        QGram instance = new QGram(2);
+        ShingleProfile profile1 = instance.getShingleProfile("ABCD");
+        ShingleProfile profile2 = instance.getShingleProfile("ABCE");
+        assertEquals(2.0, instance.distance(profile1, profile2), 0.0);
+    }
 }
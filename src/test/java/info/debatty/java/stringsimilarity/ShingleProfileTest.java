@@ -0,0 +1,181 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class ShingleProfileTest {
+
+    /**
+     * Test of getShingleProfile method, of class ShingleBased.
+     */
+    @Test
+    public final void testGetShingleProfile() {
+        System.out.println("getShingleProfile");
+        String[] strings = {
+            "", "ab", "ABCDE", "ABABABAB", "A  B\t\n C   D", "  ",
+            "中文字中文"};
+
+        for (int k = 1; k <= 8; k++) {
+            QGram instance = new QGram(k);
+            for (String string : strings) {
+                Map<String, Integer> expected = instance.getProfile(string);
+                ShingleProfile profile = instance.getShingleProfile(string);
+
+                assertEquals(k, profile.getK());
+                assertEquals(expected.size(), profile.size());
+                assertEquals(sortedCounts(expected), sortedCounts(profile));
+
+                for (int i = 1; i < profile.size(); i++) {
+                    assertTrue(profile.getKey(i - 1) < profile.getKey(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Profiles computed from any CharSequence or Reader are the same as the
+     * profile of the String.
+     * @throws IOException
+     */
+    @Test
+    public final void testStreams() throws IOException {
+        System.out.println("streams");
+        Random random = new Random(1234);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            int c = random.nextInt(12);
+            builder.append(c < 3 ? " \t\n".charAt(c) : (char) ('a' + c));
+        }
+        String string = builder.toString();
+
+        for (int k = 1; k <= 8; k++) {
+            QGram instance = new QGram(k);
+            ShingleProfile expected = instance.getShingleProfile(string);
+            assertEquals(sortedCounts(instance.getProfile(string)),
+                    sortedCounts(expected));
+
+            assertSameProfile(expected, instance.getShingleProfile(builder));
+            assertSameProfile(expected,
+                    instance.getShingleProfile(CharBuffer.wrap(string)));
+            assertSameProfile(expected,
+                    instance.getShingleProfile(new StringReader(string)));
+
+            // spaces and shingles spanning the blocks that are read
+            assertSameProfile(expected,
+                    instance.getShingleProfile(new SlowReader(string)));
+        }
+
+        assertEquals(0, new QGram(3).getShingleProfile(
+                new StringReader("ab")).size());
+    }
+
+    /**
+     * Profiles are compared by merging their sorted keys.
+     */
+    @Test
+    public final void testMerge() {
+        System.out.println("merge");
+        QGram instance = new QGram(2);
+        ShingleProfile profile1 = instance.getShingleProfile("ABCDA");
+        ShingleProfile profile2 = instance.getShingleProfile("ABCAB");
+
+        // AB BC CD DA / AB BC CA AB
+        assertEquals(2, profile1.intersection(profile2));
+        assertEquals(3.0, profile1.dotProduct(profile2), 0.0);
+        assertEquals(4, profile1.l1Distance(profile2));
+        assertEquals(2.0, profile1.getNorm(), 0.0);
+    }
+
+    private static void assertSameProfile(
+            final ShingleProfile expected, final ShingleProfile actual) {
+        assertEquals(expected.getK(), actual.getK());
+        assertArrayEquals(expected.keys(), actual.keys());
+        assertArrayEquals(expected.counts(), actual.counts());
+    }
+
+    /**
+     * Returns at most 7 characters at a time.
+     */
+    private static class SlowReader extends Reader {
+
+        private final String string;
+        private int position;
+
+        SlowReader(final String string) {
+            this.string = string;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset,
+                final int length) {
+            if (position == string.length()) {
+                return -1;
+            }
+
+            int read = Math.min(Math.min(length, 7),
+                    string.length() - position);
+            string.getChars(position, position + read, buffer, offset);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static List<Integer> sortedCounts(
+            final Map<String, Integer> profile) {
+        List<Integer> counts = new ArrayList<Integer>(profile.values());
+        Collections.sort(counts);
+        return counts;
+    }
+
+    private static List<Integer> sortedCounts(final ShingleProfile profile) {
+        List<Integer> counts = new ArrayList<Integer>();
+        for (int i = 0; i < profile.size(); i++) {
+            counts.add(profile.getCount(i));
+        }
+        Collections.sort(counts);
+        return counts;
+    }
+}
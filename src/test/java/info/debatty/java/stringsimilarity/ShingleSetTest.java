@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class ShingleSetTest {
+
+    /**
+     * Jaccard and Sorensen-Dice computed on sets are the same as on
+     * profiles, whatever the representation of the sets (arrays of ids
+     * or bitmaps).
+     */
+    @Test
+    public final void testSimilarity() {
+        System.out.println("similarity");
+        Random random = new Random(1234);
+        Jaccard jaccard = new Jaccard(2);
+        SorensenDice dice = new SorensenDice(2);
+        ShingleVocabulary vocabulary = new ShingleVocabulary();
+
+        // short and long strings, on small and large alphabets
+        String[] strings = new String[120];
+        for (int i = 0; i < strings.length; i++) {
+            int length = i % 2 == 0 ? 3 + random.nextInt(20)
+                    : 500 + random.nextInt(2000);
+            int alphabet = i % 3 == 0 ? 4 : 200;
+            StringBuilder builder = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                builder.append((char) ('a' + random.nextInt(alphabet)));
+            }
+            strings[i] = builder.toString();
+        }
+
+        ShingleSet[] sets = new ShingleSet[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            sets[i] = jaccard.getShingleSet(strings[i], vocabulary);
+            assertEquals(jaccard.getShingleProfile(strings[i]).size(),
+                    sets[i].size());
+        }
+
+        for (int i = 0; i < strings.length; i++) {
+            for (int j = 0; j < strings.length; j++) {
+                ShingleProfile p1 = jaccard.getShingleProfile(strings[i]);
+                ShingleProfile p2 = jaccard.getShingleProfile(strings[j]);
+                assertEquals(jaccard.similarity(p1, p2),
+                        jaccard.similarity(sets[i], sets[j]), 0.0);
+                assertEquals(dice.similarity(p1, p2),
+                        dice.similarity(sets[i], sets[j]), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Test of contains method, of class ShingleSet.
+     */
+    @Test
+    public final void testContains() {
+        System.out.println("contains");
+        Jaccard jaccard = new Jaccard(2);
+        ShingleVocabulary vocabulary = new ShingleVocabulary();
+        ShingleSet set = jaccard.getShingleSet("ABCD", vocabulary);
+        ShingleSet other = jaccard.getShingleSet("CDEF", vocabulary);
+
+        // AB BC CD DE EF
+        assertEquals(5, vocabulary.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(2));
+        assertFalse(set.contains(3));
+        assertFalse(set.contains(-1));
+        assertTrue(other.contains(2));
+        assertEquals(0.2, jaccard.similarity(set, other), 1E-9);
+    }
+
+    /**
+     * Sets computed with different vocabularies cannot be compared.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testDifferentVocabularies() {
+        System.out.println("different vocabularies");
+        Jaccard jaccard = new Jaccard(2);
+        jaccard.similarity(
+                jaccard.getShingleSet("ABCD", new ShingleVocabulary()),
+                jaccard.getShingleSet("ABCD", new ShingleVocabulary()));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class ShingleVocabularyTest {
+
+    /**
+     * Ids are assigned in order of first appearance.
+     */
+    @Test
+    public final void testAdd() {
+        System.out.println("add");
+        ShingleVocabulary vocabulary = new ShingleVocabulary();
+        for (long key = 0; key < 5000; key++) {
+            assertEquals(key, vocabulary.add(key * 31));
+        }
+        assertEquals(5000, vocabulary.size());
+        assertEquals(12, vocabulary.add(12 * 31));
+        assertEquals(12, vocabulary.getId(12 * 31));
+        assertEquals(12 * 31, vocabulary.getKey(12));
+        assertEquals(-1, vocabulary.getId(1));
+    }
+
+    /**
+     * A frozen vocabulary is read-only.
+     */
+    @Test
+    public final void testFreeze() {
+        System.out.println("freeze");
+        ShingleVocabulary vocabulary = new ShingleVocabulary();
+        vocabulary.add(42);
+        assertFalse(vocabulary.isFrozen());
+        vocabulary.freeze();
+        assertTrue(vocabulary.isFrozen());
+        assertEquals(0, vocabulary.add(42));
+        assertEquals(0, vocabulary.getId(42));
+
+        try {
+            vocabulary.add(43);
+            assertTrue(false);
+        } catch (IllegalStateException ex) {
+            assertEquals(1, vocabulary.size());
+        }
+    }
+
+    /**
+     * Sets computed with a frozen vocabulary count the unknown shingles,
+     * as if they were different from all other shingles.
+     */
+    @Test
+    public final void testFrozenSets() {
+        System.out.println("frozen sets");
+        Jaccard jaccard = new Jaccard(2);
+        ShingleVocabulary vocabulary = new ShingleVocabulary();
+        ShingleSet record = jaccard.getShingleSet("ABCDE", vocabulary);
+        vocabulary.freeze();
+
+        // AB BC CD DE / CD DE EF FG
+        ShingleSet query = jaccard.getShingleSet("CDEFG", vocabulary);
+        assertEquals(4, query.size());
+        assertEquals(4, vocabulary.size());
+        assertEquals(jaccard.similarity("ABCDE", "CDEFG"),
+                jaccard.similarity(record, query), 0.0);
+    }
+
+    /**
+     * Saved vocabularies are loaded with the same ids.
+     * @throws IOException
+     */
+    @Test
+    public final void testSaveLoad() throws IOException {
+        System.out.println("save and load");
+        ShingleVocabulary vocabulary = new ShingleVocabulary();
+        for (long key = 0; key < 3000; key++) {
+            vocabulary.add(key * key - 7);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        vocabulary.save(out);
+        assertEquals(12 + 8 * 3000, out.size());
+
+        ShingleVocabulary loaded = ShingleVocabulary.load(
+                new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(3000, loaded.size());
+        assertFalse(loaded.isFrozen());
+        for (int id = 0; id < 3000; id++) {
+            assertEquals(vocabulary.getKey(id), loaded.getKey(id));
+            assertEquals(id, loaded.getId(vocabulary.getKey(id)));
+        }
+    }
+
+    /**
+     * Streams that do not contain a vocabulary are rejected.
+     * @throws IOException
+     */
+    @Test(expected = IOException.class)
+    public final void testLoadInvalid() throws IOException {
+        System.out.println("load invalid");
+        ShingleVocabulary.load(new ByteArrayInputStream(new byte[16]));
+    }
+
+    /**
+     * Concurrent threads get the same id for the same shingle.
+     * @throws InterruptedException
+     */
+    @Test
+    public final void testConcurrentAdd() throws InterruptedException {
+        System.out.println("concurrent add");
+        final ShingleVocabulary vocabulary = new ShingleVocabulary();
+        final int keys = 20000;
+        final int[] steps = {1, 3, 7, 9};
+        final int[][] results = new int[steps.length][keys];
+        final AtomicInteger errors = new AtomicInteger();
+
+        Thread[] threads = new Thread[results.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int thread = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int key = 0; key < keys; key++) {
+                        // each thread adds the keys in a different order
+                        int k = (key * steps[thread]) % keys;
+                        results[thread][k] = vocabulary.add(k);
+                        if (vocabulary.getKey(results[thread][k]) != k) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, errors.get());
+        assertEquals(keys, vocabulary.size());
+        Set<Integer> ids = new HashSet<Integer>();
+        for (int key = 0; key < keys; key++) {
+            for (int[] result : results) {
+                assertEquals(results[0][key], result[key]);
+            }
+            ids.add(results[0][key]);
+        }
+        assertEquals(keys, ids.size());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class SimHashTest {
+
+    /**
+     * The estimation is close to the exact cosine similarity.
+     */
+    @Test
+    public final void testSimilarity() {
+        System.out.println("similarity");
+        SimHash simhash = new SimHash(3, 128);
+        Cosine cosine = new Cosine(3);
+        Random random = new Random(1234);
+        String alphabet = "abcdefghij";
+
+        double error = 0;
+        int pairs = 0;
+        for (int i = 0; i < 50; i++) {
+            String s1 = LevenshteinTest.randomString(random, alphabet, 500);
+            String s2 = LevenshteinTest.mutate(
+                    random, s1, alphabet, random.nextInt(100));
+            double expected = cosine.similarity(s1, s2);
+            double estimated = simhash.similarity(s1, s2);
+
+            assertEquals(expected, estimated, 0.25);
+            error += Math.abs(expected - estimated);
+            pairs++;
+        }
+        assertTrue(error / pairs < 0.1);
+
+        assertEquals(1.0, simhash.similarity("ABCDEF", "ABCDEF"), 0.0);
+        assertTrue(simhash.similarity(
+                "My first string, quite long", "My first string, quite long!")
+                > simhash.similarity(
+                "My first string, quite long", "Another string entirely"));
+    }
+
+    /**
+     * Fingerprints only depend on the profile, k and the number of bits.
+     */
+    @Test
+    public final void testFingerprint() {
+        System.out.println("fingerprint");
+        SimHash simhash = new SimHash(2);
+        assertEquals(64, simhash.getBits());
+        long[] fingerprint = simhash.fingerprint("ABCABC");
+        assertEquals(1, fingerprint.length);
+        assertEquals(2, new SimHash(2, 128).fingerprint("ABCABC").length);
+
+        // only the profile matters: multiple spaces are merged
+        assertArrayEquals(simhash.fingerprint("A BC"),
+                simhash.fingerprint("A \t BC"));
+        assertArrayEquals(fingerprint, new SimHash(2).fingerprint("ABCABC"));
+        assertArrayEquals(fingerprint,
+                simhash.fingerprint(simhash.getShingleProfile("ABCABC")));
+        assertEquals(0, simhash.hammingDistance(fingerprint, fingerprint));
+    }
+
+    /**
+     * Strings shorter than k have no shingle, and are not similar to other
+     * strings.
+     */
+    @Test
+    public final void testShortStrings() {
+        System.out.println("short strings");
+        SimHash instance = new SimHash(3, 64);
+        assertEquals(0.0, instance.similarity("ab", "cd"), 0.0);
+        assertEquals(0.0, instance.similarity("ab", "abcdef"), 0.0);
+        assertEquals(0.0, instance.similarity("abcdef", "ab"), 0.0);
+        assertEquals(1.0, instance.similarity("ab", "ab"), 0.0);
+    }
+
+    /**
+     * A deserialized instance keeps its k, so its fingerprints can be compared
+     * with the stored ones.
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    @Test
+    public final void testSerialization()
+            throws IOException, ClassNotFoundException {
+        System.out.println("serialization");
+        SimHash instance = new SimHash(5, 128);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(instance);
+        out.close();
+        SimHash copy = (SimHash) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        assertEquals(5, copy.getK());
+        assertArrayEquals(instance.fingerprint("ABCDEFGHIJ"),
+                copy.fingerprint("ABCDEFGHIJ"));
+        assertEquals(instance.similarity("ABCDEFGHIJ", "ABCDEFGHIK"),
+                copy.similarity("ABCDEFGHIJ", "ABCDEFGHIK"), 0.0);
+    }
+
+    /**
+     * Fingerprints of different sizes cannot be compared.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testDifferentSize() {
+        System.out.println("different size");
+        SimHash simhash = new SimHash(2, 64);
+        simhash.similarity(simhash.fingerprint("ABCD"),
+                new SimHash(2, 128).fingerprint("ABCD"));
+    }
+}
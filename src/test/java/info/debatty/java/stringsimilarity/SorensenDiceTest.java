@@ -60,4 +60,18 @@ public class SorensenDiceTest {
         SorensenDice instance = new SorensenDice();
         NullEmptyTests.testDistance(instance);
     }
+
+    /**
+     * Test of similarity method with precomputed profiles, of class
+     * SorensenDice.
+     */
+    @Test
+    public void testSimilarityProfiles() {
+        System.out.println("similarity (profiles)");
+        SorensenDice instance = new SorensenDice(2);
+        ShingleProfile profile1 = instance.getShingleProfile("ABCDE");
+        ShingleProfile profile2 = instance.getShingleProfile("ABCDF");
+        assertEquals(0.75, instance.similarity(profile1, profile2), 0.0);
+        assertEquals(0.25, instance.distance(profile1, profile2), 0.0);
+    }
 }
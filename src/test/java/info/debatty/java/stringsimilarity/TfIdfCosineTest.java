@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.debatty.java.stringsimilarity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class TfIdfCosineTest {
+
+    /**
+     * Without corpus, all shingles have the same weight, hence the
+     * similarity is the plain cosine similarity.
+     */
+    @Test
+    public final void testEmptyCorpus() {
+        System.out.println("empty corpus");
+        TfIdfCosine instance = new TfIdfCosine(new IdfModel.Builder(3).build());
+        Cosine cosine = new Cosine(3);
+        Random random = new Random(1234);
+
+        for (int i = 0; i < 100; i++) {
+            String s1 = randomString(random, 1 + random.nextInt(100));
+            String s2 = randomString(random, 1 + random.nextInt(100));
+            assertEquals(cosine.similarity(s1, s2),
+                    instance.similarity(s1, s2), 1E-6);
+        }
+        assertEquals(1.0, instance.similarity("ABCD", "ABCD"), 0.0);
+        assertEquals(0.0, instance.similarity("AB", "ABCD"), 0.0);
+    }
+
+    /**
+     * Shingles that appear in all documents have less weight.
+     */
+    @Test
+    public final void testIdf() {
+        System.out.println("idf");
+        IdfModel.Builder builder = new IdfModel.Builder(3);
+        builder.add("the cat");
+        builder.add("the dog");
+        builder.add("the bird");
+        builder.add("a cow");
+        IdfModel model = builder.build();
+        TfIdfCosine instance = new TfIdfCosine(model);
+
+        assertEquals(4, model.getDocuments());
+        ShingleProfile the = instance.getShingleProfile("the");
+        assertEquals(Math.log(5.0 / 4.0) + 1, model.getIdf(the.getKey(0)),
+                1E-6);
+        assertEquals(Math.log(5.0) + 1, model.getIdf(
+                instance.getShingleProfile("xyz").getKey(0)), 1E-6);
+
+        Cosine cosine = new Cosine(3);
+        assertTrue(instance.similarity("the cat", "the dog")
+                < cosine.similarity("the cat", "the dog"));
+    }
+
+    /**
+     * Documents can be read from a Reader, and the model is serializable.
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    @Test
+    public final void testSerialization()
+            throws IOException, ClassNotFoundException {
+        System.out.println("serialization");
+        Random random = new Random(1234);
+        IdfModel.Builder builder = new IdfModel.Builder(2);
+        String[] documents = new String[50];
+        for (int i = 0; i < documents.length; i++) {
+            documents[i] = randomString(random, 200);
+            builder.add(new StringReader(documents[i]));
+        }
+        TfIdfCosine instance = new TfIdfCosine(builder.build());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(instance);
+        out.close();
+        TfIdfCosine copy = (TfIdfCosine) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        assertEquals(instance.getModel().size(), copy.getModel().size());
+        for (int i = 1; i < documents.length; i++) {
+            WeightedProfile p1 = instance.getWeightedProfile(documents[i]);
+            WeightedProfile p2 = instance.getWeightedProfile(documents[i - 1]);
+            assertEquals(instance.similarity(p1, p2),
+                    copy.similarity(documents[i], documents[i - 1]), 1E-9);
+        }
+    }
+
+    /**
+     * Profiles with another k cannot be weighted.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testDifferentK() {
+        System.out.println("different k");
+        TfIdfCosine instance = new TfIdfCosine(new IdfModel.Builder(3).build());
+        instance.getWeightedProfile(new Cosine(2).getShingleProfile("ABCD"));
+    }
+
+    private static String randomString(final Random random, final int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(6)));
+        }
+        return builder.toString();
+    }
+}
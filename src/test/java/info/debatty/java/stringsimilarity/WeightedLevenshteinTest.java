@@ -41,6 +41,11 @@ public class WeightedLevenshteinTest {
         assertEquals(1.0, instance.distance("String1", "Srring2", 1.0), 0.1);
         assertEquals(4.0, instance.distance("String1", "Potato", 4.0), 0.1);
 
+        // An empty middle is not capped at limit, as the other strings.
+        assertEquals(3.0, instance.distance("", "bcd", 2.0), 0.1);
+        assertEquals(3.0, instance.distance("a", "bcd", 2.0), 0.1);
+        assertEquals(3.0, instance.distance("xbcdx", "xx", 2.0), 0.1);
+
         NullEmptyTests.testDistance(instance);
     }
 
@@ -98,6 +103,9 @@ public class WeightedLevenshteinTest {
         assertEquals(1.0, instance.distance("String1", "Srring2", 1.0), 0.1);
         assertEquals(4.0, instance.distance("String1", "Potato", 4.0), 0.1);
 
+        // Empty input is not capped at limit either.
+        assertEquals(3.0, instance.distance("", "bcd", 2.0), 0.1);
+
         NullEmptyTests.testDistance(instance);
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.debatty.java.stringsimilarity;
+
+import info.debatty.java.stringsimilarity.interfaces.StringDistance;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class WorkspaceTest {
+
+    private static final StringDistance[] DISTANCES = {
+        new Levenshtein(),
+        new WeightedLevenshtein(new CharacterSubstitutionInterface() {
+            @Override
+            public double cost(final char c1, final char c2) {
+                return 0.5;
+            }
+        }),
+        new OptimalStringAlignment(),
+        new Damerau(),
+        new LongestCommonSubsequence(),
+        new NGram(3)
+    };
+
+    /**
+     * Buffers are reused from one call to the next: results must not depend
+     * on the strings that were compared before.
+     */
+    @Test
+    public final void testReuse() {
+        System.out.println("reuse of work buffers");
+        for (StringDistance distance : DISTANCES) {
+            double expected = distance.distance("ABCDEF", "ABDCEG");
+            distance.distance(
+                    "A much longer string, to grow the buffers",
+                    "Another much longer string, to grow the buffers");
+            assertEquals(expected, distance.distance("ABCDEF", "ABDCEG"), 0.0);
+        }
+    }
+
+    /**
+     * Instances are shared between threads, each thread using its own
+     * buffers.
+     */
+    @Test
+    public final void testConcurrent() throws Exception {
+        System.out.println("concurrent use of shared instances");
+        final Random rand = new Random(42);
+        final List<String> strings = new ArrayList<String>();
+        for (int i = 0; i < 40; i++) {
+            strings.add(LevenshteinTest.randomString(
+                    rand, "abcde", rand.nextInt(150)));
+        }
+
+        final double[][] expected = new double[DISTANCES.length][];
+        for (int d = 0; d < DISTANCES.length; d++) {
+            expected[d] = computeAll(DISTANCES[d], strings);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<double[]>> futures = new ArrayList<Future<double[]>>();
+        for (int t = 0; t < 16; t++) {
+            final StringDistance distance = DISTANCES[t % DISTANCES.length];
+            futures.add(executor.submit(new Callable<double[]>() {
+                @Override
+                public double[] call() {
+                    return computeAll(distance, strings);
+                }
+            }));
+        }
+
+        for (int t = 0; t < futures.size(); t++) {
+            double[] result = futures.get(t).get();
+            double[] exp = expected[t % DISTANCES.length];
+            for (int i = 0; i < exp.length; i++) {
+                assertEquals(exp[i], result[i], 0.0);
+            }
+        }
+        executor.shutdown();
+    }
+
+    private static double[] computeAll(
+            final StringDistance distance, final List<String> strings) {
+        double[] result = new double[strings.size() * strings.size()];
+        int i = 0;
+        for (String s1 : strings) {
+            for (String s2 : strings) {
+                result[i++] = distance.distance(s1, s2);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.debatty.java.stringsimilarity.trie;
+
+import info.debatty.java.stringsimilarity.Levenshtein;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class DoubleArrayTrieTest {
+
+    private static final String[] CJK = {
+        "\u9ad8\u8840\u538b", "\u9ad8\u8840\u7cd6", "\u9ad8\u8840\u8102",
+        "\u4f4e\u8840\u538b", "\u7cd6\u5c3f\u75c5", "\u9ad8\u8840\u538b\u75c5"
+    };
+
+    /**
+     * Test of FindFuzzy method, of class DoubleArrayTrie.
+     */
+    @Test
+    public final void testFindFuzzy() throws Exception {
+        System.out.println("FindFuzzy");
+        DoubleArrayTrie trie = new DoubleArrayTrie();
+        for (String word : new String[] {"kitten", "sitting", "mitten"}) {
+            trie.Insert(word);
+        }
+
+        ArrayList<DoubleArrayTrie.FuzzyMatch> matches =
+                trie.FindFuzzy("kitten", 1);
+        assertEquals(2, matches.size());
+        assertEquals("kitten", matches.get(0).word);
+        assertEquals(0, matches.get(0).distance);
+        assertEquals("mitten", matches.get(1).word);
+        assertEquals(1, matches.get(1).distance);
+
+        assertEquals(3, trie.FindFuzzy("kitten", 3).size());
+        assertEquals(0, trie.FindFuzzy("kitten", -1).size());
+        assertEquals(0, trie.FindFuzzy("xyz", 2).size());
+
+        // words inserted after a search must be found by the next ones
+        trie.Insert("bitten");
+        assertEquals(3, trie.FindFuzzy("kitten", 1).size());
+    }
+
+    /**
+     * FindFuzzy must return exactly the words of the trie within
+     * max_distance of the query, with their Levenshtein distance.
+     */
+    @Test
+    public final void testFindFuzzyRandom() throws Exception {
+        System.out.println("FindFuzzy against Levenshtein");
+        Random rand = new Random(42);
+        Set<String> words = new LinkedHashSet<String>();
+        while (words.size() < 500) {
+            words.add(randomWord(rand, 1 + rand.nextInt(8)));
+        }
+        for (String word : CJK) {
+            words.add(word);
+        }
+
+        DoubleArrayTrie trie = new DoubleArrayTrie();
+        for (String word : words) {
+            trie.Insert(word);
+        }
+
+        ArrayList<String> queries = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            queries.add(randomWord(rand, rand.nextInt(9)));
+        }
+        for (String word : CJK) {
+            queries.add(word);
+            queries.add(word.substring(1));
+        }
+        queries.add("\u9ad8a\u538b");
+
+        Levenshtein levenshtein = new Levenshtein();
+        for (String query : queries) {
+            for (int k = 0; k <= 3; k++) {
+                Map<String, Integer> expected = new HashMap<String, Integer>();
+                for (String word : words) {
+                    int d = (int) levenshtein.distance(query, word);
+                    if (d <= k) {
+                        expected.put(word, d);
+                    }
+                }
+
+                ArrayList<DoubleArrayTrie.FuzzyMatch> matches =
+                        trie.FindFuzzy(query, k);
+                Map<String, Integer> actual = new HashMap<String, Integer>();
+                int previous = 0;
+                for (DoubleArrayTrie.FuzzyMatch match : matches) {
+                    actual.put(match.word, match.distance);
+                    assertTrue(match.distance >= previous);
+                    previous = match.distance;
+                }
+                assertEquals(matches.size(), actual.size());
+                assertEquals(query + " " + k, expected, actual);
+            }
+        }
+    }
+
+    /**
+     * Test of Build method, of class DoubleArrayTrie.
+     */
+    @Test
+    public final void testBuild() throws Exception {
+        System.out.println("Build");
+        Random rand = new Random(123);
+        Set<String> words = new LinkedHashSet<String>();
+        while (words.size() < 1000) {
+            words.add(randomWord(rand, 1 + rand.nextInt(8)));
+        }
+        words.addAll(Arrays.asList(CJK));
+
+        // unsorted, with duplicates and an empty word
+        ArrayList<String> input = new ArrayList<String>(words);
+        input.addAll(Arrays.asList(CJK));
+        input.add("");
+        Collections.shuffle(input, rand);
+
+        DoubleArrayTrie built = DoubleArrayTrie.Build(input);
+        DoubleArrayTrie inserted = new DoubleArrayTrie();
+        inserted.Insert("");
+        for (String word : words) {
+            inserted.Insert(word);
+        }
+
+        assertTrue(built.Exists(""));
+        assertFalse(DoubleArrayTrie.Build(words).Exists(""));
+        for (String word : words) {
+            assertTrue(built.Exists(word));
+        }
+        for (int i = 0; i < 1000; i++) {
+            String word = randomWord(rand, 1 + rand.nextInt(8));
+            assertEquals(words.contains(word), built.Exists(word));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            String query = randomWord(rand, rand.nextInt(9));
+            assertEquals(
+                    inserted.FindFuzzy(query, 2).toString(),
+                    built.FindFuzzy(query, 2).toString());
+        }
+
+        // a built trie can still be extended
+        built.Insert("abcdefabc");
+        built.Insert("\u9ad8\u8840");
+        assertTrue(built.Exists("abcdefabc"));
+        assertTrue(built.Exists("\u9ad8\u8840"));
+        assertTrue(built.Exists("\u9ad8\u8840\u538b"));
+
+        assertEquals(0, DoubleArrayTrie.Build(
+                new ArrayList<String>()).FindFuzzy("a", 1).size());
+    }
+
+    /**
+     * Looking up characters that are not in the trie must fail without
+     * adding them to the alphabet.
+     */
+    @Test
+    public final void testUnknownCharacters() throws Exception {
+        System.out.println("unknown characters");
+        DoubleArrayTrie trie = DoubleArrayTrie.Build(Arrays.asList(CJK));
+        int size = trie.Codes.Size();
+
+        assertTrue(!trie.Exists("\u9ad8\u00e9"));
+        assertTrue(!trie.Exists("\u00e9\u9ad8"));
+        assertTrue(!trie.Exists("\u9ad8\u8840\u538b\u4e2d"));
+        assertEquals(0, trie.FindAllWords("\u4e2d").size());
+        assertEquals(0, trie.FindFuzzy("\u4e2d\u6587", 1).size());
+        assertEquals(size, trie.Codes.Size());
+
+        trie.Insert("\u4e2d\u6587");
+        assertTrue(trie.Exists("\u4e2d\u6587"));
+        assertEquals(1, trie.FindFuzzy("\u4e2d\u6587", 0).size());
+    }
+
+    /**
+     * Test of Freeze method, of class DoubleArrayTrie.
+     */
+    @Test
+    public final void testFreeze() throws Exception {
+        System.out.println("Freeze");
+        DoubleArrayTrie trie = DoubleArrayTrie.Build(
+                Arrays.asList("kitten", "sitting", "\u9ad8\u8840\u538b"));
+        ReadOnlyDoubleArrayTrie frozen = trie.Freeze();
+
+        trie.Insert("mitten");
+        trie.Insert("\u4e2d\u6587");
+        assertTrue(trie.Exists("mitten"));
+        assertTrue(!frozen.Exists("mitten"));
+        assertTrue(!frozen.Exists("\u4e2d\u6587"));
+        assertTrue(frozen.Exists("kitten"));
+        assertTrue(frozen.Exists("\u9ad8\u8840\u538b"));
+        assertEquals(1, frozen.FindFuzzy("kitten", 1).size());
+        assertEquals(2, trie.FindFuzzy("kitten", 1).size());
+    }
+
+    /**
+     * A frozen copy must answer Exists like the trie it was copied from,
+     * including for the empty word.
+     */
+    @Test
+    public final void testFreezeExists() throws Exception {
+        System.out.println("Freeze (Exists)");
+        DoubleArrayTrie trie = DoubleArrayTrie.Build(
+                Arrays.asList("abc", "abd", "ab"));
+        ReadOnlyDoubleArrayTrie frozen = trie.Freeze();
+        for (String word : new String[] {"", "a", "ab", "abc", "abd", "abe",
+                "abcd", "x"}) {
+            assertEquals(word, trie.Exists(word), frozen.Exists(word));
+        }
+        assertTrue(!trie.Exists(""));
+
+        // FindAllWords of the mutable trie keeps END_CHAR after "ab"
+        assertEquals(
+                new HashSet<String>(Arrays.asList("ab", "abc", "abd")),
+                new HashSet<String>(frozen.FindAllWords("a")));
+        assertTrue(trie.FindAllWords("a").contains("ab\u0000"));
+
+        DoubleArrayTrie inserted = new DoubleArrayTrie();
+        inserted.Insert("ab");
+        inserted.Insert("");
+        assertTrue(inserted.Exists(""));
+        assertTrue(inserted.Freeze().Exists(""));
+    }
+
+    private static String randomWord(final Random rand, final int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + rand.nextInt(6)));
+        }
+        return sb.toString();
+    }
+}
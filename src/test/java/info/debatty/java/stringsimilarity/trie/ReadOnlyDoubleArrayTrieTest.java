@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.debatty.java.stringsimilarity.trie;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class ReadOnlyDoubleArrayTrieTest {
+
+    private static final String[] WORDS = {
+        "bachelor", "baby", "badge", "jar", "a", "ab", "abc",
+        "\u9ad8\u8840\u538b", "\u9ad8\u8840\u538b\u75c5", "\u7cd6\u5c3f\u75c5"
+    };
+
+    /**
+     * Test of Load method, of class ReadOnlyDoubleArrayTrie.
+     */
+    @Test
+    public final void testLoad() throws Exception {
+        System.out.println("Load");
+        DoubleArrayTrie trie = DoubleArrayTrie.Build(Arrays.asList(WORDS));
+        File file = File.createTempFile("trie", ".bin");
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            trie.Save(out);
+        } finally {
+            out.close();
+        }
+
+        ReadOnlyDoubleArrayTrie loaded = ReadOnlyDoubleArrayTrie.Load(file);
+        for (String word : WORDS) {
+            assertTrue(loaded.Exists(word));
+        }
+        assertFalse(loaded.Exists("ba"));
+        assertFalse(loaded.Exists("abcd"));
+        assertFalse(loaded.Exists("xyz"));
+        assertFalse(loaded.Exists("\u9ad8\u8840"));
+
+        assertEquals(
+                new HashSet<String>(Arrays.asList("bachelor", "baby", "badge")),
+                new HashSet<String>(loaded.FindAllWords("ba")));
+        assertEquals(
+                new HashSet<String>(Arrays.asList("a", "ab", "abc")),
+                new HashSet<String>(loaded.FindAllWords("a")));
+        assertEquals(Arrays.asList("badge"), loaded.FindAllWords("bad"));
+        assertEquals(0, loaded.FindAllWords("bax").size());
+        assertEquals(WORDS.length, loaded.FindAllWords("").size());
+
+        assertEquals(
+                trie.FindFuzzy("\u9ad8\u538b", 2).toString(),
+                loaded.FindFuzzy("\u9ad8\u538b", 2).toString());
+    }
+
+    /**
+     * A trie built by Insert and then saved must give the same results as
+     * the original.
+     */
+    @Test
+    public final void testSaveInserted() throws Exception {
+        System.out.println("Save (inserted)");
+        Random rand = new Random(7);
+        Set<String> words = new LinkedHashSet<String>();
+        while (words.size() < 500) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + rand.nextInt(7);
+            for (int i = 0; i < length; i++) {
+                sb.append((char) ('a' + rand.nextInt(5)));
+            }
+            words.add(sb.toString());
+        }
+
+        DoubleArrayTrie trie = new DoubleArrayTrie();
+        for (String word : words) {
+            trie.Insert(word);
+        }
+        ReadOnlyDoubleArrayTrie loaded = ReadOnlyDoubleArrayTrie.Load(
+                ByteBuffer.wrap(save(trie)));
+
+        for (String word : words) {
+            assertTrue(loaded.Exists(word));
+            String prefix = word.substring(0, (word.length() + 1) / 2);
+            Set<String> expected = new HashSet<String>();
+            for (String other : words) {
+                if (other.startsWith(prefix)) {
+                    expected.add(other);
+                }
+            }
+            assertEquals(expected,
+                    new HashSet<String>(loaded.FindAllWords(prefix)));
+            assertEquals(
+                    trie.FindFuzzy(word, 1).toString(),
+                    loaded.FindFuzzy(word, 1).toString());
+        }
+    }
+
+    /**
+     * END_CHAR in a query must not be matched with the end of the words.
+     */
+    @Test
+    public final void testEndCharQuery() throws Exception {
+        System.out.println("END_CHAR in queries");
+        ReadOnlyDoubleArrayTrie trie = DoubleArrayTrie.Build(
+                Arrays.asList(WORDS)).Freeze();
+        assertFalse(trie.Exists("jar\u0000"));
+        assertFalse(trie.Exists("\u0000"));
+        assertEquals(0, trie.FindAllWords("ab\u0000").size());
+        assertEquals(0, trie.FindFuzzy("\u0000", 0).size());
+        assertEquals(1, trie.FindFuzzy("jar\u0000", 1).size());
+    }
+
+    /**
+     * Test of Load method with invalid content.
+     */
+    @Test
+    public final void testInvalid() throws Exception {
+        System.out.println("Load (invalid)");
+        byte[] data = save(DoubleArrayTrie.Build(Arrays.asList(WORDS)));
+
+        byte[] bad_magic = data.clone();
+        bad_magic[0]++;
+        assertInvalid(bad_magic);
+
+        byte[] bad_version = data.clone();
+        bad_version[4]++;
+        assertInvalid(bad_version);
+
+        assertInvalid(Arrays.copyOf(data, data.length - 1));
+        assertInvalid(new byte[3]);
+    }
+
+    private static void assertInvalid(final byte[] data) {
+        try {
+            ReadOnlyDoubleArrayTrie.Load(ByteBuffer.wrap(data));
+        } catch (IOException ex) {
+            return;
+        }
+        throw new AssertionError("IOException expected");
+    }
+
+    private static byte[] save(final DoubleArrayTrie trie) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trie.Save(out);
+        return out.toByteArray();
+    }
+}
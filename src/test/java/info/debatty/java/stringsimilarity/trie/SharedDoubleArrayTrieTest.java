@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Thibault Debatty.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.debatty.java.stringsimilarity.trie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Thibault Debatty
+ */
+public class SharedDoubleArrayTrieTest {
+
+    /**
+     * Test of Publish and Insert, of class SharedDoubleArrayTrie.
+     */
+    @Test
+    public final void testPublish() throws Exception {
+        System.out.println("Publish");
+        ReadOnlyDoubleArrayTrie first = DoubleArrayTrie.Build(
+                Arrays.asList("abc", "abd")).Freeze();
+        SharedDoubleArrayTrie shared = new SharedDoubleArrayTrie(first);
+        assertTrue(shared.Exists("abc"));
+
+        ReadOnlyDoubleArrayTrie second = DoubleArrayTrie.Build(
+                Arrays.asList("xyz")).Freeze();
+        assertSame(first, shared.Publish(second));
+        assertSame(second, shared.Get());
+        assertFalse(shared.Exists("abc"));
+        assertTrue(first.Exists("abc"));
+
+        shared.Insert(Arrays.asList("xya", "abc"));
+        assertEquals(3, shared.FindAllWords("").size());
+        assertEquals(2, shared.FindAllWords("xy").size());
+        assertFalse(second.Exists("xya"));
+    }
+
+    /**
+     * Insert rebuilds the trie from its words, including the empty word.
+     */
+    @Test
+    public final void testInsertEmptyWord() throws Exception {
+        System.out.println("Insert empty word");
+        DoubleArrayTrie trie = new DoubleArrayTrie();
+        trie.Insert("ab");
+        trie.Insert("");
+        SharedDoubleArrayTrie shared = new SharedDoubleArrayTrie(trie.Freeze());
+        assertTrue(shared.Exists(""));
+
+        shared.Insert(Arrays.asList("abc", "b"));
+        assertTrue(shared.Exists(""));
+        assertTrue(shared.Exists("ab"));
+        assertTrue(shared.Exists("abc"));
+        assertFalse(shared.Exists("a"));
+        assertEquals(4, shared.FindAllWords("").size());
+    }
+
+    /**
+     * Readers query the shared trie while a writer publishes new versions.
+     * Readers must always see a complete snapshot: the words of the first
+     * version, and the words of the batches 0 .. n of a version, in the
+     * same snapshot.
+     */
+    @Test
+    public final void testConcurrentReaders() throws Exception {
+        System.out.println("concurrent readers");
+        final ArrayList<String> words = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            words.add("word" + i);
+        }
+        final SharedDoubleArrayTrie shared = new SharedDoubleArrayTrie(
+                DoubleArrayTrie.Build(words).Freeze());
+
+        final int batches = 20;
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicInteger done = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread() {
+                @Override
+                public void run() {
+                    int i = 0;
+                    while (done.get() == 0) {
+                        ReadOnlyDoubleArrayTrie trie = shared.Get();
+                        if (!trie.Exists(words.get(i % words.size()))) {
+                            errors.incrementAndGet();
+                        }
+                        int published = trie.FindAllWords("batch").size();
+                        for (int b = 0; b < published; b++) {
+                            if (!trie.Exists("batch" + (char) ('a' + b))) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                        i++;
+                    }
+                }
+            };
+            readers[t].start();
+        }
+
+        for (int b = 0; b < batches; b++) {
+            shared.Insert(Collections.singletonList(
+                    "batch" + (char) ('a' + b)));
+        }
+        done.set(1);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, errors.get());
+        assertEquals(batches, shared.FindAllWords("batch").size());
+        assertEquals(words.size() + batches, shared.FindAllWords("").size());
+    }
+}